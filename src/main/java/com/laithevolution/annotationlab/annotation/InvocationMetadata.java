@@ -0,0 +1,29 @@
+package com.laithevolution.annotationlab.annotation;
+
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Propagation;
+
+/**
+ * Resolved {@code @Transactional} / {@code @Async} attributes of one method on one target class.
+ * Built once by {@link InvocationMetadataRegistry}; everything an aspect needs per call is precomputed here.
+ *
+ * @param qualifiedName     {@code com.example.Type.method}, the name Spring gives the method's transaction
+ * @param transactional     whether a transaction boundary applies
+ * @param propagation       null when not transactional
+ * @param isolation         null when not transactional
+ * @param transactionSource annotation the transaction settings were declared with, e.g. {@code Transactional},
+ *                          {@code jakarta.transaction.Transactional} or a composed one such as
+ *                          {@link RetryableTransactional}; null when not transactional
+ * @param asyncExecutor     executor qualifier of {@code @Async}, empty for the default executor, null when not async
+ */
+public record InvocationMetadata(
+        String qualifiedName,
+        boolean transactional,
+        Propagation propagation,
+        Isolation isolation,
+        boolean readOnly,
+        int timeout,
+        String transactionSource,
+        boolean async,
+        String asyncExecutor) {
+}
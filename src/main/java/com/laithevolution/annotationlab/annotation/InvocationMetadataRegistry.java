@@ -0,0 +1,106 @@
+package com.laithevolution.annotationlab.annotation;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.core.MethodClassKey;
+import org.springframework.core.annotation.MergedAnnotation;
+import org.springframework.core.annotation.MergedAnnotations;
+import org.springframework.core.annotation.MergedAnnotations.SearchStrategy;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.interceptor.TransactionAttribute;
+import org.springframework.transaction.interceptor.TransactionAttributeSource;
+import org.springframework.util.ClassUtils;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.AnnotatedElement;
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Caches {@link InvocationMetadata} per method and target class.
+ * <p>
+ * Transaction settings come from the same {@link TransactionAttributeSource} the transaction interceptor uses,
+ * so what aspects see is exactly what the interceptor applies: Spring and jakarta {@code @Transactional},
+ * composed annotations with {@code @AliasFor}, method before class, interface and superclass declarations.
+ * {@code @Async} is resolved with merged-annotation semantics over the same hierarchy.
+ * Resolution happens on the first call for a method; later calls are a single map lookup.
+ */
+@Component
+@RequiredArgsConstructor
+public class InvocationMetadataRegistry {
+
+    private static final List<Class<? extends Annotation>> TRANSACTIONAL_TYPES =
+            List.of(Transactional.class, jakarta.transaction.Transactional.class);
+
+    private final TransactionAttributeSource transactionAttributeSource;
+    private final Map<MethodClassKey, InvocationMetadata> cache = new ConcurrentHashMap<>();
+
+    public InvocationMetadata get(Method method, Class<?> targetClass) {
+        return cache.computeIfAbsent(new MethodClassKey(method, targetClass), key -> resolve(method, targetClass));
+    }
+
+    public int size() {
+        return cache.size();
+    }
+
+    private InvocationMetadata resolve(Method method, Class<?> targetClass) {
+        Class<?> userClass = targetClass != null ? ClassUtils.getUserClass(targetClass) : method.getDeclaringClass();
+        Method specificMethod = AopUtils.getMostSpecificMethod(method, userClass);
+        TransactionAttribute transaction = transactionAttributeSource.getTransactionAttribute(method, targetClass);
+        MergedAnnotation<Async> async = find(specificMethod, userClass, Async.class);
+        return new InvocationMetadata(
+                ClassUtils.getQualifiedMethodName(method, targetClass),
+                transaction != null,
+                transaction != null ? propagationOf(transaction.getPropagationBehavior()) : null,
+                transaction != null ? isolationOf(transaction.getIsolationLevel()) : null,
+                transaction != null && transaction.isReadOnly(),
+                transaction != null ? transaction.getTimeout() : TransactionAttribute.TIMEOUT_DEFAULT,
+                transaction != null ? transactionSource(specificMethod, userClass) : null,
+                async.isPresent(),
+                async.isPresent() ? async.getString("value") : null);
+    }
+
+    private static String transactionSource(Method method, Class<?> targetClass) {
+        for (AnnotatedElement element : new AnnotatedElement[]{method, targetClass}) {
+            for (Class<? extends Annotation> type : TRANSACTIONAL_TYPES) {
+                MergedAnnotation<? extends Annotation> annotation = MergedAnnotations
+                        .from(element, SearchStrategy.TYPE_HIERARCHY).get(type);
+                if (annotation.isPresent()) {
+                    return annotation.getRoot().getType().getName();
+                }
+            }
+        }
+        return null;
+    }
+
+    private static <A extends Annotation> MergedAnnotation<A> find(Method method, Class<?> targetClass, Class<A> type) {
+        MergedAnnotation<A> onMethod = MergedAnnotations.from(method, SearchStrategy.TYPE_HIERARCHY).get(type);
+        return onMethod.isPresent()
+                ? onMethod
+                : MergedAnnotations.from(targetClass, SearchStrategy.TYPE_HIERARCHY).get(type);
+    }
+
+    private static Propagation propagationOf(int behavior) {
+        for (Propagation propagation : Propagation.values()) {
+            if (propagation.value() == behavior) {
+                return propagation;
+            }
+        }
+        throw new IllegalArgumentException("Unknown propagation behavior " + behavior);
+    }
+
+    private static Isolation isolationOf(int level) {
+        for (Isolation isolation : Isolation.values()) {
+            if (isolation.value() == level) {
+                return isolation;
+            }
+        }
+        throw new IllegalArgumentException("Unknown isolation level " + level);
+    }
+}
@@ -0,0 +1,52 @@
+package com.laithevolution.annotationlab.annotation;
+
+import org.springframework.core.annotation.AliasFor;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Composed meta-annotation: a {@link Transactional} boundary (SERIALIZABLE by default) that is re-run from
+ * scratch when it aborts with a retryable concurrency failure - serialization failure (SQLState 40001),
+ * deadlock (40P01) or an optimistic {@code @Version} conflict.
+ * The retry loop wraps the transaction, so every attempt begins, reads and commits anew.
+ * When the method joins a transaction that is already running, it is not retried: only the owner of the
+ * physical transaction can start it over.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@Transactional
+public @interface RetryableTransactional {
+
+    @AliasFor(annotation = Transactional.class)
+    Isolation isolation() default Isolation.SERIALIZABLE;
+
+    @AliasFor(annotation = Transactional.class)
+    Propagation propagation() default Propagation.REQUIRED;
+
+    @AliasFor(annotation = Transactional.class)
+    boolean readOnly() default false;
+
+    @AliasFor(annotation = Transactional.class)
+    int timeout() default -1;
+
+    /**
+     * Total number of attempts, including the first one.
+     */
+    int maxAttempts() default 3;
+
+    /**
+     * Pause before the first retry; doubles for every further retry up to {@link #maxBackoffMillis()}.
+     * The actual pause is drawn uniformly from [0, backoff] (full jitter) so colliding writers spread out.
+     */
+    long backoffMillis() default 50;
+
+    long maxBackoffMillis() default 1000;
+}
@@ -0,0 +1,84 @@
+package com.laithevolution.annotationlab.aop;
+
+import com.laithevolution.annotationlab.annotation.InvocationMetadataRegistry;
+import com.laithevolution.annotationlab.deadline.DeadlineContext;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Caps how many {@code @Async @Transactional} invocations run at once, so an unbounded executor (virtual threads,
+ * or the thread-per-task default) cannot start more database-bound tasks than the connection pool can serve.
+ * Sleep- or I/O-bound {@code @Async} methods without a transaction are not limited.
+ * <p>
+ * The async interceptor always runs first, so this advice executes on the worker thread, before the transaction
+ * interceptor borrows a connection. A task waits at most {@code transactional-limit-timeout} (or until its
+ * deadline) for a permit and is then rejected with {@link TaskRejectedException}.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 30)
+public class AsyncTransactionalLimiterAspect {
+
+    private final InvocationMetadataRegistry metadataRegistry;
+    private final Semaphore permits;
+    private final int limit;
+    private final long timeoutNanos;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger peakInFlight = new AtomicInteger();
+
+    public AsyncTransactionalLimiterAspect(
+            InvocationMetadataRegistry metadataRegistry,
+            @Value("${annotationlab.async.transactional-limit:10}") int limit,
+            @Value("${annotationlab.async.transactional-limit-timeout:30s}") Duration timeout) {
+        this.metadataRegistry = metadataRegistry;
+        this.permits = new Semaphore(limit, true);
+        this.limit = limit;
+        this.timeoutNanos = timeout.toNanos();
+    }
+
+    @Around("@annotation(org.springframework.scheduling.annotation.Async) "
+            + "|| @within(org.springframework.scheduling.annotation.Async)")
+    public Object limit(ProceedingJoinPoint pjp) throws Throwable {
+        boolean transactional = metadataRegistry.get(((MethodSignature) pjp.getSignature()).getMethod(),
+                AopUtils.getTargetClass(pjp.getTarget())).transactional();
+        if (!transactional) {
+            return pjp.proceed();
+        }
+        long waitNanos = Math.min(timeoutNanos, Math.max(0, DeadlineContext.current().remainingNanos()));
+        if (!permits.tryAcquire(waitNanos, TimeUnit.NANOSECONDS)) {
+            throw new TaskRejectedException("No database permit for " + pjp.getSignature().toShortString()
+                    + " within " + TimeUnit.NANOSECONDS.toMillis(waitNanos) + " ms (limit " + limit + ")");
+        }
+        peakInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+        try {
+            return pjp.proceed();
+        } finally {
+            inFlight.decrementAndGet();
+            permits.release();
+        }
+    }
+
+    public int limit() {
+        return limit;
+    }
+
+    /**
+     * Highest number of limited invocations seen running at the same time.
+     */
+    public int peakInFlight() {
+        return peakInFlight.get();
+    }
+}
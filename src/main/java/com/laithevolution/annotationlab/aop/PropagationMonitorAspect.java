@@ -1,134 +1,154 @@
-/*
 package com.laithevolution.annotationlab.aop;
 
-import jakarta.persistence.EntityManager;
-import jakarta.persistence.PersistenceContext;
-import org.springframework.transaction.annotation.Transactional;
-import lombok.Getter;
+import com.laithevolution.annotationlab.annotation.InvocationMetadata;
+import com.laithevolution.annotationlab.annotation.InvocationMetadataRegistry;
+import com.laithevolution.annotationlab.config.TransactionManagerConfig;
+import com.laithevolution.annotationlab.dto.PropagationSample;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
 import org.aspectj.lang.reflect.MethodSignature;
-import org.springframework.aop.framework.Advised;
-import org.springframework.aop.framework.AopProxyUtils;
 import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.support.TransactionSynchronizationManager;
 
-import java.lang.reflect.Method;
-import java.util.Arrays;
-import java.util.List;
-
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Sampled monitor of the transactional facades, cheap enough to leave on in production.
+ * <p>
+ * Unsampled calls cost one random draw. A sampled call keeps the transaction state the method body runs in
+ * (before and after the body) in locals and, once the body has returned, copies it together with the declared
+ * propagation/isolation into a preallocated {@link PropagationSampleRing} slot in one short step, so a
+ * long-running transaction never holds a slot - no logging, stack walking or string formatting on the calling
+ * thread. A single background thread drains the ring every {@code flush-interval} and logs one line per sample
+ * at DEBUG. Ordered right inside the transaction advisor so the body's own transaction is visible.
+ */
 @Aspect
 @Component
-@Getter
+@Order(TransactionManagerConfig.TRANSACTION_ADVISOR_ORDER + 10)
+@ConditionalOnProperty(name = "annotationlab.monitor.propagation.enabled", havingValue = "true")
 @Slf4j
 public class PropagationMonitorAspect {
 
-    @PersistenceContext
-    private EntityManager entityManager;
-
-    private boolean entityManagerOpen;
-    private boolean transactionActive;
-    private int synchronizationsCount;
-    private String lastPropagation;
-    private String transactionNameBefore;
-    private String transactionNameAfter;
-    private int entityManagerBefore;
-    private int entityManagerAfter;
-    private String nestedTransactionBefore;
-    private String nestedTransactionAfter;
-
-    @Around("execution(* com.laithevolution.annotationlab.facade.transactional.fullSuccessScenario.*(..))")
-    public Object monitorTransaction(ProceedingJoinPoint pjp) throws Throwable {
-
-        MethodSignature signature = (MethodSignature) pjp.getSignature();
-        Method method = signature.getMethod();
-        String methodName = method.getName();
-
-        Transactional transactional = method.getAnnotation(Transactional.class);
-        String propagation = transactional != null ? transactional.propagation().name() : "DEFAULT";
-        String isolation = transactional != null ? transactional.isolation().name() : "DEFAULT";
-        boolean readOnly = transactional != null && transactional.readOnly();
-        this.transactionNameBefore = TransactionSynchronizationManager.getCurrentTransactionName();
-
-
-        this.entityManagerOpen = entityManager.isOpen();
-        this.transactionActive = TransactionSynchronizationManager.isActualTransactionActive();
-        List<?> synchronizations = TransactionSynchronizationManager.getSynchronizations();
-        this.synchronizationsCount = synchronizations.size();
-        this.lastPropagation = propagation;
-
-        Object target = pjp.getTarget();
-        Class<?> targetClass = AopProxyUtils.ultimateTargetClass(target);
-
-        boolean isCglibProxy = AopUtils.isCglibProxy(target);
-        boolean isJdkProxy = AopUtils.isJdkDynamicProxy(target);
-        boolean isProxy = AopUtils.isAopProxy(target);
+    private final InvocationMetadataRegistry metadataRegistry;
+    private final double sampleRate;
+    private final Duration flushInterval;
+    private final PropagationSampleRing ring;
+    private ScheduledExecutorService drainer;
+    private long reportedDropped;
+
+    public PropagationMonitorAspect(
+            InvocationMetadataRegistry metadataRegistry,
+            @Value("${annotationlab.monitor.propagation.sample-rate:0.01}") double sampleRate,
+            @Value("${annotationlab.monitor.propagation.buffer-size:1024}") int bufferSize,
+            @Value("${annotationlab.monitor.propagation.flush-interval:1s}") Duration flushInterval) {
+        this.metadataRegistry = metadataRegistry;
+        this.sampleRate = sampleRate;
+        this.flushInterval = flushInterval;
+        this.ring = new PropagationSampleRing(bufferSize);
+    }
 
-        String proxyType;
-        if (isCglibProxy) proxyType = "CGLIB";
-        else if (isJdkProxy) proxyType = "JDK Dynamic Proxy";
-        else if (isProxy) proxyType = "AOP Proxy (Custom)";
-        else proxyType = "Not Proxied (Plain Bean)";
+    @PostConstruct
+    void startDrainer() {
+        drainer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "propagation-monitor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long millis = flushInterval.toMillis();
+        drainer.scheduleWithFixedDelay(this::logSamples, millis, millis, TimeUnit.MILLISECONDS);
+    }
 
-        log.info("────────────────────────────────────────────");
-        log.info(" BEFORE [{}] ─ Propagation: {}, Isolation: {}, ReadOnly: {}",
-                methodName, propagation, isolation, readOnly);
-        log.info("EntityManager open: {}", entityManagerOpen);
-        log.info("Transaction active: {}", transactionActive);
-        log.info("Transaction name: {}", TransactionSynchronizationManager.getCurrentTransactionName());
-        log.info("Synchronization active: {}", TransactionSynchronizationManager.isSynchronizationActive());
-        log.info("Synchronizations count: {}", synchronizationsCount);
-        log.info("Thread: {} (ID={})", Thread.currentThread().getName(), Thread.currentThread().getId());
-        log.info("Proxy type: {}", proxyType);
-        log.info("Target class: {}", targetClass.getName());
-        log.info("Proxy class: {}", target.getClass().getName());
-        entityManagerBefore = System.identityHashCode(entityManager);
+    @PreDestroy
+    void stopDrainer() {
+        drainer.shutdown();
+        logSamples();
+    }
 
-        if (transactionActive) {
-            log.info("Transaction stacktrace (partial, top 5 elements):");
-            Arrays.stream(Thread.currentThread().getStackTrace())
-                    .filter(ste -> ste.getClassName().startsWith("com.laithevolution"))
-                    .limit(5)
-                    .forEach(ste -> log.info(" ↳ at {}.{}({}:{})",
-                            ste.getClassName(), ste.getMethodName(),
-                            ste.getFileName(), ste.getLineNumber()));
+    @Around("execution(public * com.laithevolution.annotationlab.facade.transactional.*Scenarios.*(..))")
+    public Object monitorTransaction(ProceedingJoinPoint pjp) throws Throwable {
+        if (ThreadLocalRandom.current().nextDouble() >= sampleRate) {
+            return pjp.proceed();
         }
 
-
-        if (target instanceof Advised advised) {
-            log.info("Advisors:");
-            Arrays.stream(advised.getAdvisors())
-                    .forEach(advisor -> log.info(" - {}", advisor.getAdvice().getClass().getName()));
-        } else {
-            log.info("No advisors found (Not proxied or simple bean)");
+        InvocationMetadata metadata = metadataRegistry.get(
+                ((MethodSignature) pjp.getSignature()).getMethod(), AopUtils.getTargetClass(pjp.getTarget()));
+        if (!metadata.transactional()) {
+            return pjp.proceed();
         }
 
-        Object result = pjp.proceed();
-
-        entityManagerAfter = System.identityHashCode(entityManager);
-        this.transactionNameAfter = TransactionSynchronizationManager.getCurrentTransactionName();
-        log.info(" AFTER [{}]", methodName);
-        log.info("EntityManager open: {}", entityManager.isOpen());
-        log.info("Transaction active: {}", TransactionSynchronizationManager.isActualTransactionActive());
-        log.info("Transaction name: {}", TransactionSynchronizationManager.getCurrentTransactionName());
-        log.info("Synchronization active: {}", TransactionSynchronizationManager.isSynchronizationActive());
-        log.info("Synchronizations count: {}", TransactionSynchronizationManager.getSynchronizations().size());
-
-        return result;
+        boolean activeBefore = TransactionSynchronizationManager.isActualTransactionActive();
+        String nameBefore = TransactionSynchronizationManager.getCurrentTransactionName();
+        int synchronizationsBefore = TransactionSynchronizationManager.isSynchronizationActive()
+                ? TransactionSynchronizationManager.getSynchronizations().size() : 0;
+        boolean failed = true;
+        long start = System.nanoTime();
+        try {
+            Object result = pjp.proceed();
+            failed = false;
+            return result;
+        } finally {
+            long durationNanos = System.nanoTime() - start;
+            PropagationSampleRing.Slot slot = ring.claim();
+            if (slot != null) {
+                slot.method = metadata.qualifiedName();
+                slot.propagation = metadata.propagation().value();
+                slot.isolation = metadata.isolation().value();
+                slot.readOnly = metadata.readOnly();
+                slot.threadName = Thread.currentThread().getName();
+                slot.transactionActiveBefore = activeBefore;
+                slot.transactionNameBefore = nameBefore;
+                slot.synchronizationsBefore = synchronizationsBefore;
+                slot.transactionActiveAfter = TransactionSynchronizationManager.isActualTransactionActive();
+                slot.transactionNameAfter = TransactionSynchronizationManager.getCurrentTransactionName();
+                slot.durationNanos = durationNanos;
+                slot.failed = failed;
+                ring.publish(slot);
+            }
+        }
     }
 
+    /**
+     * Drains captured samples to {@code sink}; the background drainer uses this too, so samples go to one of them.
+     */
+    public int drainTo(Consumer<PropagationSample> sink) {
+        return ring.drainTo(sink);
+    }
 
-    @Around("execution(* com.laithevolution.annotationlab.facade.transactional.nestedRequiredScenario(..))")
-    public Object monitorNestedRequiredScenario(ProceedingJoinPoint pjp) throws Throwable {
-        nestedTransactionBefore = TransactionSynchronizationManager.getCurrentTransactionName();
-        Object result = pjp.proceed();
-        nestedTransactionAfter = TransactionSynchronizationManager.getCurrentTransactionName();
-        log.info("Nested REQUIRED scenario transaction before: {}", nestedTransactionBefore);
-        log.info("Nested REQUIRED scenario transaction after: {}", nestedTransactionAfter);
-        return result;
+    public long droppedSamples() {
+        return ring.dropped();
     }
 
-}*/
+    private void logSamples() {
+        try {
+            ring.drainTo(sample -> log.debug(
+                    "[{}] {} propagation={} isolation={} readOnly={} thread={} "
+                            + "before(active={}, tx={}, syncs={}) after(active={}, tx={}) {}us{}",
+                    sample.getSequence(), sample.getMethod(), sample.getPropagation(), sample.getIsolation(),
+                    sample.isReadOnly(), sample.getThreadName(),
+                    sample.isTransactionActiveBefore(), sample.getTransactionNameBefore(),
+                    sample.getSynchronizationsBefore(),
+                    sample.isTransactionActiveAfter(), sample.getTransactionNameAfter(),
+                    sample.getDurationNanos() / 1_000, sample.isFailed() ? " FAILED" : ""));
+            long dropped = ring.dropped();
+            if (dropped > reportedDropped) {
+                reportedDropped = dropped;
+                log.debug("{} propagation samples dropped so far (ring capacity {})", dropped, ring.capacity());
+            }
+        } catch (RuntimeException e) {
+            log.warn("Could not drain propagation samples", e);
+        }
+    }
+}
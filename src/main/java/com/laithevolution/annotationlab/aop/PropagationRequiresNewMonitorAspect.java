@@ -1,85 +1,172 @@
-/*
 package com.laithevolution.annotationlab.aop;
-import lombok.Getter;
+
+import com.laithevolution.annotationlab.annotation.InvocationMetadata;
+import com.laithevolution.annotationlab.annotation.InvocationMetadataRegistry;
+import com.laithevolution.annotationlab.config.TransactionManagerConfig;
+import com.laithevolution.annotationlab.dto.TransactionTraceNode;
 import lombok.extern.slf4j.Slf4j;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.NoTransactionException;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.interceptor.TransactionAspectSupport;
+import org.springframework.transaction.support.DefaultTransactionStatus;
 import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Builds a trace tree per top-level call into the transactional facades: REQUIRED joins, REQUIRES_NEW
+ * children that suspend their parent, SUPPORTS calls with or without a transaction, each with nanosecond
+ * offsets and durations.
+ * <p>
+ * The tree under construction lives in a thread-local stack, so concurrent requests never see each other's
+ * nodes; the only shared step is handing the finished root to a lock-free queue that keeps the latest
+ * {@code capacity} traces. Ordered inside the transaction advisor (and the sampled propagation monitor) so the
+ * transaction status of the call itself is visible.
+ */
 @Aspect
 @Component
-@Getter
+@Order(TransactionManagerConfig.TRANSACTION_ADVISOR_ORDER + 20)
+@ConditionalOnProperty(name = "annotationlab.monitor.trace.enabled", havingValue = "true")
 @Slf4j
 public class PropagationRequiresNewMonitorAspect {
-    private String requiredParentBefore;
-    private String requiredParentAfter;
-    private String requiredChildBefore;
-    private String requiredChildAfter;
 
-    private String requiresNewParentBefore;
-    private String requiresNewParentAfter;
-    private String requiresNewChildBefore;
-    private String requiresNewChildAfter;
+    private final InvocationMetadataRegistry metadataRegistry;
+    private final int capacity;
+
+    private final ThreadLocal<Deque<Frame>> inFlight = ThreadLocal.withInitial(ArrayDeque::new);
+    private final Queue<TransactionTraceNode> completed = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger completedCount = new AtomicInteger();
 
-    // ----------------- REQUIRED parent + REQUIRED child -----------------
+    public PropagationRequiresNewMonitorAspect(
+            InvocationMetadataRegistry metadataRegistry,
+            @Value("${annotationlab.monitor.trace.capacity:256}") int capacity) {
+        this.metadataRegistry = metadataRegistry;
+        this.capacity = capacity;
+    }
+
+    @Around("execution(public * com.laithevolution.annotationlab.facade.transactional.*Scenarios.*(..))")
+    public Object trace(ProceedingJoinPoint pjp) throws Throwable {
+        InvocationMetadata metadata = metadataRegistry.get(
+                ((MethodSignature) pjp.getSignature()).getMethod(), AopUtils.getTargetClass(pjp.getTarget()));
+        if (!metadata.transactional()) {
+            return pjp.proceed();
+        }
 
-    @Around("execution(* com.laithevolution.annotationlab.facade.transactional.PropagationRequiresNew.requiredParentWithChildFailure(..))")
-    public Object monitorRequiredParent(ProceedingJoinPoint pjp) throws Throwable {
-        requiredParentBefore = TransactionSynchronizationManager.getCurrentTransactionName();
-        Object result;
+        Deque<Frame> stack = inFlight.get();
+        long start = System.nanoTime();
+        Frame parent = stack.peek();
+        TransactionStatus status = currentStatus();
+        TransactionTraceNode node = TransactionTraceNode.builder()
+                .method(metadata.qualifiedName())
+                .propagation(metadata.propagation().name())
+                .kind(kindOf(status))
+                .transactionName(TransactionSynchronizationManager.getCurrentTransactionName())
+                .suspendsOuter(status instanceof DefaultTransactionStatus defaultStatus
+                        && defaultStatus.getSuspendedResources() != null)
+                .threadName(Thread.currentThread().getName())
+                .startOffsetNanos(parent == null ? 0 : start - stack.peekLast().start)
+                .children(new ArrayList<>())
+                .build();
+        if (parent != null) {
+            parent.node.getChildren().add(node);
+        }
+        Frame frame = new Frame(node, start);
+        stack.push(frame);
         try {
-            result = pjp.proceed();
+            return pjp.proceed();
+        } catch (Throwable failure) {
+            node.setFailed(true);
+            node.setException(failure.getClass().getName());
+            throw failure;
         } finally {
-            requiredParentAfter = TransactionSynchronizationManager.getCurrentTransactionName();
-            log.info("Required Parent transaction after: {}", requiredParentAfter);
+            node.setDurationNanos(System.nanoTime() - start);
+            node.setRollbackOnly(status != null && status.isRollbackOnly());
+            stack.pop();
+            if (stack.isEmpty()) {
+                inFlight.remove();
+                publish(node);
+            }
         }
-        return result;
     }
 
-    @Around("execution(* com.laithevolution.annotationlab.facade.transactional.PropagationRequiresNew.requiredChild(..))")
-    public Object monitorRequiredChild(ProceedingJoinPoint pjp) throws Throwable {
-        requiredChildBefore = TransactionSynchronizationManager.getCurrentTransactionName();
-        Object result;
-        try {
-            result = pjp.proceed();
-        } finally {
-            requiredChildAfter = TransactionSynchronizationManager.getCurrentTransactionName();
-            log.info("REQUIRED child transaction before: {}", requiredChildBefore);
-            log.info("REQUIRED child transaction after: {}", requiredChildAfter);
+    /**
+     * Latest completed traces, oldest first.
+     */
+    public List<TransactionTraceNode> recentTraces() {
+        return List.copyOf(completed);
+    }
+
+    /**
+     * Removes completed traces and hands them to {@code sink}, oldest first.
+     */
+    public int drainTo(Consumer<TransactionTraceNode> sink) {
+        int count = 0;
+        for (TransactionTraceNode trace; (trace = completed.poll()) != null; count++) {
+            completedCount.decrementAndGet();
+            sink.accept(trace);
         }
-        return result;
+        return count;
     }
 
-    // ----------------- REQUIRED parent + REQUIRES_NEW child -----------------
+    private void publish(TransactionTraceNode root) {
+        completed.offer(root);
+        if (completedCount.incrementAndGet() > capacity && completed.poll() != null) {
+            completedCount.decrementAndGet();
+        }
+        if (log.isDebugEnabled()) {
+            StringBuilder tree = new StringBuilder("Transaction trace:");
+            render(root, 1, tree);
+            log.debug(tree.toString());
+        }
+    }
 
-    @Around("execution(* com.laithevolution.annotationlab.facade.transactional.PropagationRequiresNew.requiredParentWithRequiresNewChildFailure(..))")
-    public Object monitorRequiresNewParent(ProceedingJoinPoint pjp) throws Throwable {
-        requiresNewParentBefore = TransactionSynchronizationManager.getCurrentTransactionName();
-        Object result;
-        try {
-            result = pjp.proceed();
-        } finally {
-            requiresNewParentAfter = TransactionSynchronizationManager.getCurrentTransactionName();
-            log.info("REQUIRED parent (with REQUIRES_NEW child) before: {}", requiresNewParentBefore);
-            log.info("REQUIRED parent (with REQUIRES_NEW child) after: {}", requiresNewParentAfter);
+    private static void render(TransactionTraceNode node, int depth, StringBuilder out) {
+        out.append('\n').append("  ".repeat(depth))
+                .append(node.getMethod()).append(" [").append(node.getPropagation()).append(' ')
+                .append(node.getKind()).append(node.isSuspendsOuter() ? ", suspends outer" : "")
+                .append(node.isRollbackOnly() ? ", rollback-only" : "").append("] +")
+                .append(node.getStartOffsetNanos() / 1_000).append("us ")
+                .append(node.getDurationNanos() / 1_000).append("us")
+                .append(node.isFailed() ? " FAILED " + node.getException() : "");
+        for (TransactionTraceNode child : node.getChildren()) {
+            render(child, depth + 1, out);
         }
-        return result;
     }
 
-    @Around("execution(* com.laithevolution.annotationlab.facade.transactional.PropagationRequiresNew.requiresNewChild(..))")
-    public Object monitorRequiresNewChild(ProceedingJoinPoint pjp) throws Throwable {
-        requiresNewChildBefore = TransactionSynchronizationManager.getCurrentTransactionName();
-        Object result;
+    private static TransactionStatus currentStatus() {
         try {
-            result = pjp.proceed();
-        } finally {
-            requiresNewChildAfter = TransactionSynchronizationManager.getCurrentTransactionName();
-            log.info("REQUIRES_NEW child transaction before: {}", requiresNewChildBefore);
-            log.info("REQUIRES_NEW child transaction after: {}", requiresNewChildAfter);
+            return TransactionAspectSupport.currentTransactionStatus();
+        } catch (NoTransactionException e) {
+            return null;
         }
-        return result;
+    }
+
+    private static TransactionTraceNode.Kind kindOf(TransactionStatus status) {
+        if (status == null || !status.hasTransaction()) {
+            return TransactionTraceNode.Kind.NONE;
+        }
+        if (status.isNested()) {
+            return TransactionTraceNode.Kind.SAVEPOINT;
+        }
+        return status.isNewTransaction() ? TransactionTraceNode.Kind.NEW : TransactionTraceNode.Kind.JOINED;
+    }
+
+    private record Frame(TransactionTraceNode node, long start) {
     }
 }
-*/
@@ -0,0 +1,155 @@
+package com.laithevolution.annotationlab.aop;
+
+import com.laithevolution.annotationlab.dto.PropagationSample;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Propagation;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.ToIntFunction;
+
+/**
+ * Fixed-size, preallocated ring of capture slots: many writers, one drainer.
+ * A writer claims a sequence number, takes the slot exclusively, overwrites it in place and publishes it by
+ * storing the sequence; nothing is allocated, and writers fill a slot in one short step, so the only wait is a
+ * spin while a writer one lap apart finishes those few stores. A writer that finds a newer sample already in its
+ * slot gives up, and the drainer counts its sample as dropped. Enum names and sample objects are only built by
+ * the drainer, which copies a slot out and re-checks its sequence, so a slot overwritten mid-copy (the drainer
+ * fell a full lap behind) is dropped instead of read torn.
+ */
+class PropagationSampleRing {
+
+    private static final long WRITING = -1;
+    private static final long EMPTY = -2;
+    private static final VarHandle SEQUENCE;
+
+    static {
+        try {
+            SEQUENCE = MethodHandles.lookup().findVarHandle(Slot.class, "sequence", long.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private final Slot[] slots;
+    private final int mask;
+    private final AtomicLong cursor = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private long drained;
+
+    PropagationSampleRing(int capacity) {
+        int size = Integer.highestOneBit(Math.max(2, capacity - 1)) << 1;
+        this.slots = new Slot[size];
+        this.mask = size - 1;
+        for (int i = 0; i < size; i++) {
+            slots[i] = new Slot();
+        }
+    }
+
+    /**
+     * Returns the slot for the next sequence, held exclusively until {@link #publish}, or {@code null} when a
+     * writer a lap ahead has already published into it.
+     */
+    Slot claim() {
+        long sequence = cursor.getAndIncrement();
+        Slot slot = slots[(int) (sequence & mask)];
+        while (true) {
+            long current = slot.sequence;
+            if (current > sequence) {
+                return null;
+            }
+            if (current != WRITING && SEQUENCE.compareAndSet(slot, current, WRITING)) {
+                slot.claimed = sequence;
+                return slot;
+            }
+            Thread.onSpinWait();
+        }
+    }
+
+    void publish(Slot slot) {
+        slot.sequence = slot.claimed;
+    }
+
+    /**
+     * Hands every sample published since the last drain to {@code sink}, oldest first.
+     * Samples still being written are left for the next drain.
+     */
+    synchronized int drainTo(Consumer<PropagationSample> sink) {
+        long end = cursor.get();
+        if (end - drained > slots.length) {
+            dropped.addAndGet(end - slots.length - drained);
+            drained = end - slots.length;
+        }
+        int count = 0;
+        for (; drained < end; drained++) {
+            Slot slot = slots[(int) (drained & mask)];
+            long published = slot.sequence;
+            if (published == WRITING || published < drained) {
+                break;
+            }
+            PropagationSample sample = published == drained ? slot.copy(drained) : null;
+            VarHandle.loadLoadFence();
+            if (sample == null || slot.sequence != drained) {
+                dropped.incrementAndGet();
+                continue;
+            }
+            sink.accept(sample);
+            count++;
+        }
+        return count;
+    }
+
+    long dropped() {
+        return dropped.get();
+    }
+
+    int capacity() {
+        return slots.length;
+    }
+
+    static final class Slot {
+        private volatile long sequence = EMPTY;
+        private long claimed;
+        String method;
+        int propagation;
+        int isolation;
+        boolean readOnly;
+        String threadName;
+        boolean transactionActiveBefore;
+        String transactionNameBefore;
+        int synchronizationsBefore;
+        boolean transactionActiveAfter;
+        String transactionNameAfter;
+        long durationNanos;
+        boolean failed;
+
+        private PropagationSample copy(long sequence) {
+            return PropagationSample.builder()
+                    .sequence(sequence)
+                    .method(method)
+                    .propagation(nameOf(Propagation.values(), Propagation::value, propagation))
+                    .isolation(nameOf(Isolation.values(), Isolation::value, isolation))
+                    .readOnly(readOnly)
+                    .threadName(threadName)
+                    .transactionActiveBefore(transactionActiveBefore)
+                    .transactionNameBefore(transactionNameBefore)
+                    .synchronizationsBefore(synchronizationsBefore)
+                    .transactionActiveAfter(transactionActiveAfter)
+                    .transactionNameAfter(transactionNameAfter)
+                    .durationNanos(durationNanos)
+                    .failed(failed)
+                    .build();
+        }
+
+        private static <E extends Enum<E>> String nameOf(E[] constants, ToIntFunction<E> value, int wanted) {
+            for (E constant : constants) {
+                if (value.applyAsInt(constant) == wanted) {
+                    return constant.name();
+                }
+            }
+            return String.valueOf(wanted);
+        }
+    }
+}
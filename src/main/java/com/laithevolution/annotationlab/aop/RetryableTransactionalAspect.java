@@ -0,0 +1,128 @@
+package com.laithevolution.annotationlab.aop;
+
+import com.laithevolution.annotationlab.annotation.RetryableTransactional;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.SQLException;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Retry loop behind {@link RetryableTransactional}.
+ * Ordered ahead of the transaction interceptor, so every attempt runs in a fresh transaction.
+ * Metrics (tag {@code method}):
+ * <ul>
+ *     <li>{@code transaction.retryable.calls} - invocations</li>
+ *     <li>{@code transaction.retries} - attempts re-run after a retryable failure</li>
+ *     <li>{@code transaction.aborts} - invocations that failed for good (tag {@code reason}: exhausted / not_retryable)</li>
+ *     <li>{@code transaction.retry.time.lost} - time spent in failed attempts and backoff pauses</li>
+ * </ul>
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+@RequiredArgsConstructor
+@Slf4j
+public class RetryableTransactionalAspect {
+
+    /**
+     * 40001 serialization_failure, 40P01 deadlock_detected (PostgreSQL), 90131 concurrent update (H2).
+     */
+    static final Set<String> RETRYABLE_SQL_STATES = Set.of("40001", "40P01", "90131");
+
+    private final MeterRegistry meterRegistry;
+
+    @Around("@annotation(retryable)")
+    public Object retry(ProceedingJoinPoint pjp, RetryableTransactional retryable) throws Throwable {
+        String method = pjp.getSignature().toShortString();
+        counter("transaction.retryable.calls", method).increment();
+
+        boolean joinsOuterTransaction = TransactionSynchronizationManager.isActualTransactionActive()
+                && retryable.propagation() != Propagation.REQUIRES_NEW
+                && retryable.propagation() != Propagation.NOT_SUPPORTED;
+        if (joinsOuterTransaction) {
+            return pjp.proceed();
+        }
+
+        long lostNanos = 0;
+        for (int attempt = 1; ; attempt++) {
+            long start = System.nanoTime();
+            try {
+                Object result = pjp.proceed();
+                recordLostTime(method, lostNanos);
+                return result;
+            } catch (Throwable failure) {
+                if (!isRetryable(failure)) {
+                    abort(method, "not_retryable", lostNanos);
+                    throw failure;
+                }
+                lostNanos += System.nanoTime() - start;
+                if (attempt >= retryable.maxAttempts()) {
+                    abort(method, "exhausted", lostNanos);
+                    throw failure;
+                }
+                counter("transaction.retries", method).increment();
+                long pauseStart = System.nanoTime();
+                pause(retryable, attempt);
+                lostNanos += System.nanoTime() - pauseStart;
+                log.debug("Retrying {} after attempt {} failed: {}", method, attempt, failure.toString());
+            }
+        }
+    }
+
+    static boolean isRetryable(Throwable failure) {
+        for (Throwable cause = failure; cause != null; cause = cause.getCause()) {
+            if (cause instanceof OptimisticLockingFailureException) {
+                return true;
+            }
+            if (cause instanceof SQLException sqlException
+                    && RETRYABLE_SQL_STATES.contains(sqlException.getSQLState())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void pause(RetryableTransactional retryable, int attempt) throws InterruptedException {
+        long ceiling = Math.min(retryable.maxBackoffMillis(), retryable.backoffMillis() << Math.min(attempt - 1, 20));
+        if (ceiling > 0) {
+            TimeUnit.MILLISECONDS.sleep(ThreadLocalRandom.current().nextLong(ceiling + 1));
+        }
+    }
+
+    private void abort(String method, String reason, long lostNanos) {
+        Counter.builder("transaction.aborts")
+                .tag("method", method)
+                .tag("reason", reason)
+                .register(meterRegistry)
+                .increment();
+        recordLostTime(method, lostNanos);
+    }
+
+    private void recordLostTime(String method, long lostNanos) {
+        if (lostNanos > 0) {
+            Timer.builder("transaction.retry.time.lost")
+                    .tag("method", method)
+                    .register(meterRegistry)
+                    .record(lostNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private Counter counter(String name, String method) {
+        return Counter.builder(name).tag("method", method).register(meterRegistry);
+    }
+}
@@ -0,0 +1,47 @@
+package com.laithevolution.annotationlab.aop;
+
+import com.laithevolution.annotationlab.annotation.InvocationMetadata;
+import com.laithevolution.annotationlab.annotation.InvocationMetadataRegistry;
+import com.laithevolution.annotationlab.metrics.TransactionLatencyRecorder;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+
+/**
+ * Times every transactional method of the transactional facades through {@link TransactionLatencyRecorder}.
+ * Attributes come from {@link InvocationMetadataRegistry}, resolved once per method,
+ * so Spring, jakarta and composed annotations are all covered. Runs inside the retry aspect and outside the
+ * transaction interceptor: every attempt is one sample and includes begin and commit.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 20)
+@RequiredArgsConstructor
+public class TransactionLatencyAspect {
+
+    private final InvocationMetadataRegistry metadataRegistry;
+    private final TransactionLatencyRecorder recorder;
+
+    @Around("execution(public * com.laithevolution.annotationlab.facade.transactional.*Scenarios.*(..))")
+    public Object time(ProceedingJoinPoint pjp) throws Throwable {
+        InvocationMetadata metadata = metadataRegistry.get(
+                ((MethodSignature) pjp.getSignature()).getMethod(), AopUtils.getTargetClass(pjp.getTarget()));
+        if (!metadata.transactional()) {
+            return pjp.proceed();
+        }
+        TransactionLatencyRecorder.Invocation invocation = recorder.start(
+                metadata.qualifiedName(), metadata.propagation());
+        try {
+            return pjp.proceed();
+        } finally {
+            recorder.finish(invocation);
+        }
+    }
+}
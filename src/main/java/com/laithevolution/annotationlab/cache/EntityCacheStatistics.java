@@ -0,0 +1,40 @@
+package com.laithevolution.annotationlab.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.laithevolution.annotationlab.config.EntityCacheConfig;
+import com.laithevolution.annotationlab.dto.EntityCacheStats;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import javax.cache.CacheManager;
+import java.util.List;
+
+/**
+ * Hit, miss and eviction counters of the entity cache regions, read from the provider's native statistics.
+ */
+@Component
+@RequiredArgsConstructor
+public class EntityCacheStatistics {
+
+    private final CacheManager entityCacheManager;
+
+    public List<EntityCacheStats> snapshot() {
+        return EntityCacheConfig.ENTITY_REGIONS.stream()
+                .map(this::regionStats)
+                .toList();
+    }
+
+    public EntityCacheStats regionStats(String region) {
+        Cache<?, ?> cache = entityCacheManager.getCache(region).unwrap(Cache.class);
+        CacheStats stats = cache.stats();
+        return EntityCacheStats.builder()
+                .region(region)
+                .hits(stats.hitCount())
+                .misses(stats.missCount())
+                .evictions(stats.evictionCount())
+                .size(cache.estimatedSize())
+                .hitRatio(stats.hitRate())
+                .build();
+    }
+}
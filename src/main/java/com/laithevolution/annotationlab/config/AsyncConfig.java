@@ -1,39 +1,149 @@
 package com.laithevolution.annotationlab.config;
 
+import com.laithevolution.annotationlab.deadline.DeadlineTaskDecorator;
+import com.laithevolution.annotationlab.executor.AdmissionControlledTaskExecutor;
+import com.laithevolution.annotationlab.executor.ExecutorTelemetry;
+import com.laithevolution.annotationlab.executor.TaskTimings;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.support.CompositeTaskDecorator;
+import org.springframework.scheduling.annotation.AsyncConfigurer;
 import org.springframework.scheduling.annotation.EnableAsync;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
 import java.util.concurrent.ThreadPoolExecutor;
 
 @Configuration
 @EnableAsync
-public class AsyncConfig {
+@RequiredArgsConstructor
+public class AsyncConfig implements AsyncConfigurer {
 
+    private final DeadlineTaskDecorator deadlineTaskDecorator;
+    private final ExecutorTelemetry executorTelemetry;
 
+    /**
+     * {@code platform}: a new platform thread per task. {@code virtual}: a new virtual thread per task (JDK 21+,
+     * see the {@code java21} Maven profile). Database-bound tasks are capped by {@code AsyncTransactionalLimiterAspect}
+     * either way.
+     */
+    @Value("${annotationlab.async.executor-mode:platform}")
+    private String executorMode;
+
+    /**
+     * Workers of {@code parallelComputePool}; 0 means one per available processor.
+     */
+    @Value("${annotationlab.parallel.compute.parallelism:0}")
+    private int computeParallelism;
+
+    @Value("${annotationlab.executor.pool-sim.admission.wait:0ms}")
+    private Duration poolSimAdmissionWait;
+
+    @Value("${annotationlab.executor.big-task.admission.wait:0ms}")
+    private Duration bigTaskAdmissionWait;
+
+    /**
+     * Executor for plain {@code @Async}: thread-per-task, as Spring falls back to when several executor beans
+     * exist, decorated so callers' deadlines carry over like on the named pools. Reported as
+     * {@code defaultAsyncExecutor} by {@link ExecutorTelemetry}.
+     */
+    @Override
+    public Executor getAsyncExecutor() {
+        SimpleAsyncTaskExecutor executor = switch (executorMode) {
+            case "platform" -> new SimpleAsyncTaskExecutor();
+            case "virtual" -> {
+                SimpleAsyncTaskExecutor virtual = new SimpleAsyncTaskExecutor("AsyncVirtual-");
+                virtual.setVirtualThreads(true);
+                yield virtual;
+            }
+            default -> throw new IllegalArgumentException(
+                    "annotationlab.async.executor-mode must be platform or virtual, not " + executorMode);
+        };
+        executor.setTaskDecorator(new CompositeTaskDecorator(
+                List.of(deadlineTaskDecorator, executorTelemetry.instrument("defaultAsyncExecutor"))));
+        return executor;
+    }
+
+    /**
+     * Admits at most max + queue = 3 tasks; by default the next one is shed at once.
+     */
     @Bean(name = "asyncPoolSimulationExecutor")
-    public ThreadPoolTaskExecutor asyncPoolSimulationExecutor() {
-        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+    public AdmissionControlledTaskExecutor asyncPoolSimulationExecutor() {
+        AdmissionControlledTaskExecutor executor = new AdmissionControlledTaskExecutor();
         executor.setCorePoolSize(1);
         executor.setMaxPoolSize(2);
         executor.setQueueCapacity(1);
         executor.setThreadNamePrefix("AsyncPoolSim-");
-        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.setTaskDecorator(new CompositeTaskDecorator(List.of(deadlineTaskDecorator,
+                executorTelemetry.instrument("asyncPoolSimulationExecutor", executor))));
+        executor.setAdmissionWait(poolSimAdmissionWait);
         executor.initialize();
         return executor;
     }
 
+    /**
+     * Queue-wait and execution timings of {@code bigTaskExecutor}, read by {@code AdaptivePoolController}.
+     */
+    @Bean
+    public TaskTimings bigTaskExecutorTimings() {
+        return new TaskTimings();
+    }
+
+    /**
+     * Starts at core 4 / max 8; with {@code annotationlab.executor.big-task.adaptive.enabled} the sizes are
+     * managed by {@code AdaptivePoolController} from then on. Admission permits follow the max pool size.
+     */
     @Bean(name = "bigTaskExecutor")
-    public ThreadPoolTaskExecutor bigTaskExecutor() {
-        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+    public AdmissionControlledTaskExecutor bigTaskExecutor(TaskTimings bigTaskExecutorTimings) {
+        AdmissionControlledTaskExecutor executor = new AdmissionControlledTaskExecutor();
         executor.setCorePoolSize(4);
         executor.setMaxPoolSize(8);
         executor.setQueueCapacity(10);
         executor.setThreadNamePrefix("BigTaskAsync-");
-        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.setTaskDecorator(new CompositeTaskDecorator(
+                List.of(deadlineTaskDecorator, bigTaskExecutorTimings.decorator(),
+                        executorTelemetry.instrument("bigTaskExecutor", executor))));
+        executor.setAdmissionWait(bigTaskAdmissionWait);
         executor.initialize();
         return executor;
     }
 
+    /**
+     * Bounded pool for chunked commits; each thread holds one connection while its chunk commits,
+     * so the size stays below the default Hikari pool (10). When full, the submitting thread runs the chunk itself.
+     */
+    @Bean(name = "chunkCommitExecutor")
+    public ThreadPoolTaskExecutor chunkCommitExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(4);
+        executor.setMaxPoolSize(4);
+        executor.setQueueCapacity(16);
+        executor.setThreadNamePrefix("ChunkCommit-");
+        executor.setTaskDecorator(deadlineTaskDecorator);
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Work-stealing pool for CPU-bound splitting in {@code AsyncParallelScenarios#computeOverRange}, kept apart from
+     * the common pool so parallel streams elsewhere do not compete with it.
+     */
+    @Bean(name = "parallelComputePool", destroyMethod = "shutdown")
+    public ForkJoinPool parallelComputePool() {
+        int parallelism = computeParallelism > 0 ? computeParallelism : Runtime.getRuntime().availableProcessors();
+        return new ForkJoinPool(parallelism, pool -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName("ParallelCompute-" + thread.getPoolIndex());
+            return thread;
+        }, null, false);
+    }
+
 }
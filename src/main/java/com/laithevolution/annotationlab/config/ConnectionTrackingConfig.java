@@ -0,0 +1,37 @@
+package com.laithevolution.annotationlab.config;
+
+import com.laithevolution.annotationlab.metrics.TransactionNestingTracker;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import java.util.Locale;
+
+/**
+ * Puts every Hikari pool behind a {@link ConnectionTrackingDataSource}, so nested REQUIRES_NEW chains that
+ * would exhaust the pool are reported ({@code warn}) or rejected ({@code fail}) instead of hanging until the
+ * connection timeout. {@code annotationlab.datasource.starvation.mode=off} leaves the pools unwrapped.
+ */
+@Configuration
+public class ConnectionTrackingConfig {
+
+    @Bean
+    public static BeanPostProcessor connectionTrackingPostProcessor(
+            ObjectProvider<TransactionNestingTracker> nestingTracker, Environment environment) {
+        ConnectionTrackingDataSource.Mode mode = ConnectionTrackingDataSource.Mode.valueOf(environment
+                .getProperty("annotationlab.datasource.starvation.mode", "fail")
+                .toUpperCase(Locale.ROOT));
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (mode == ConnectionTrackingDataSource.Mode.OFF || !(bean instanceof HikariDataSource pool)) {
+                    return bean;
+                }
+                return new ConnectionTrackingDataSource(pool, nestingTracker.getObject(), mode);
+            }
+        };
+    }
+}
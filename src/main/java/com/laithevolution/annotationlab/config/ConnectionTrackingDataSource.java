@@ -0,0 +1,170 @@
+package com.laithevolution.annotationlab.config;
+
+import com.laithevolution.annotationlab.exceptions.ConnectionPoolStarvationException;
+import com.laithevolution.annotationlab.metrics.TransactionNestingTracker;
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Wraps a Hikari pool and tracks how many connections every thread holds.
+ * <p>
+ * A thread that already holds a connection and asks for another one (a REQUIRES_NEW child under a suspended
+ * parent) is a nested request. The pool is starved for good when that request cannot be served:
+ * <ul>
+ *     <li>the thread alone needs more connections than the pool's maximum, or</li>
+ *     <li>the pool is fully checked out and every holder is itself blocked on a nested request - nobody will
+ *     ever return a connection.</li>
+ * </ul>
+ * In {@link Mode#FAIL} the request is rejected with {@link ConnectionPoolStarvationException} instead of waiting
+ * for the pool's connection timeout; the failing caller rolls back and frees its connection for the others.
+ * {@link Mode#WARN} only logs.
+ */
+@Slf4j
+public class ConnectionTrackingDataSource extends DelegatingDataSource implements AutoCloseable {
+
+    public enum Mode { OFF, WARN, FAIL }
+
+    private final HikariDataSource pool;
+    private final TransactionNestingTracker nestingTracker;
+    private final Mode mode;
+
+    private final ThreadLocal<AtomicInteger> heldByThread = ThreadLocal.withInitial(AtomicInteger::new);
+    private final ThreadLocal<long[]> acquiredByThread = ThreadLocal.withInitial(() -> new long[1]);
+    private final AtomicInteger held = new AtomicInteger();
+    private final AtomicInteger peakHeld = new AtomicInteger();
+    private final AtomicInteger holders = new AtomicInteger();
+    private final AtomicInteger waitingNested = new AtomicInteger();
+    private final AtomicInteger starvations = new AtomicInteger();
+
+    public ConnectionTrackingDataSource(HikariDataSource pool, TransactionNestingTracker nestingTracker, Mode mode) {
+        super(pool);
+        this.pool = pool;
+        this.nestingTracker = nestingTracker;
+        this.mode = mode;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return track(() -> super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return track(() -> super.getConnection(username, password));
+    }
+
+    /**
+     * Lets the container's inferred destroy method still shut the pool down.
+     */
+    @Override
+    public void close() {
+        pool.close();
+    }
+
+    public int heldConnections() {
+        return held.get();
+    }
+
+    public int heldByCurrentThread() {
+        return heldByThread.get().get();
+    }
+
+    public int peakHeldConnections() {
+        return peakHeld.get();
+    }
+
+    /**
+     * Connections this thread has checked out so far, for per-operation accounting in benchmarks.
+     */
+    public long acquiredByCurrentThread() {
+        return acquiredByThread.get()[0];
+    }
+
+    public int starvationsDetected() {
+        return starvations.get();
+    }
+
+    private Connection track(ConnectionSupplier acquire) throws SQLException {
+        AtomicInteger mine = heldByThread.get();
+        Connection connection;
+        if (mine.get() > 0) {
+            waitingNested.incrementAndGet();
+            try {
+                checkNested(mine.get());
+                connection = acquire.get();
+            } finally {
+                waitingNested.decrementAndGet();
+            }
+        } else {
+            connection = acquire.get();
+        }
+        if (mine.getAndIncrement() == 0) {
+            holders.incrementAndGet();
+        }
+        peakHeld.accumulateAndGet(held.incrementAndGet(), Math::max);
+        acquiredByThread.get()[0]++;
+        return releasing(connection, mine);
+    }
+
+    private void checkNested(int heldByMe) throws ConnectionPoolStarvationException {
+        int maxPoolSize = pool.getMaximumPoolSize();
+        String reason = null;
+        if (heldByMe + 1 > maxPoolSize) {
+            reason = "thread needs " + (heldByMe + 1) + " connections, pool maximum is " + maxPoolSize;
+        } else if (held.get() >= maxPoolSize && waitingNested.get() >= holders.get()) {
+            reason = "all " + held.get() + " connections are held by " + holders.get()
+                    + " threads that each wait for one more";
+        }
+        if (reason == null) {
+            return;
+        }
+        starvations.incrementAndGet();
+        String message = "Connection pool '" + pool.getPoolName() + "' starved: " + reason
+                + " (suspended transaction depth " + nestingTracker.currentSuspendedDepth() + ")";
+        if (mode == Mode.FAIL) {
+            throw new ConnectionPoolStarvationException(message);
+        }
+        log.warn(message);
+    }
+
+    private Connection releasing(Connection connection, AtomicInteger owner) {
+        AtomicBoolean closed = new AtomicBoolean();
+        return (Connection) Proxy.newProxyInstance(
+                ConnectionTrackingDataSource.class.getClassLoader(),
+                new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    if ("close".equals(method.getName()) && closed.compareAndSet(false, true)) {
+                        try {
+                            connection.close();
+                        } finally {
+                            held.decrementAndGet();
+                            if (owner.decrementAndGet() == 0) {
+                                holders.decrementAndGet();
+                            }
+                        }
+                        return null;
+                    }
+                    if ("unwrap".equals(method.getName()) && Connection.class.equals(args[0])) {
+                        return connection;
+                    }
+                    try {
+                        return method.invoke(connection, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getTargetException();
+                    }
+                });
+    }
+
+    @FunctionalInterface
+    private interface ConnectionSupplier {
+        Connection get() throws SQLException;
+    }
+}
@@ -0,0 +1,44 @@
+package com.laithevolution.annotationlab.config;
+
+import com.laithevolution.annotationlab.deadline.Deadline;
+import com.laithevolution.annotationlab.deadline.DeadlineContext;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+
+/**
+ * JpaTransactionManager that turns {@code @Transactional(timeout)} into a deadline shared by everything below it.
+ * <p>
+ * The outermost transaction with a timeout opens the deadline in {@link DeadlineContext}; physical transactions
+ * begun inside it (REQUIRES_NEW, or on an {@code @Async} worker that inherited it) get the remaining budget
+ * instead of their own, unrelated timeout, and fail at begin once it is spent. Hibernate applies the timeout of
+ * each transaction as the JDBC query timeout of every statement it prepares, recomputed from the time left,
+ * so a long-running statement is cancelled by the driver rather than discovered at commit.
+ */
+public class DeadlineJpaTransactionManager extends JpaTransactionManager {
+
+    @Override
+    protected void doBegin(Object transaction, TransactionDefinition definition) {
+        DeadlineContext.enter(super.determineTimeout(definition));
+        try {
+            super.doBegin(transaction, definition);
+        } catch (RuntimeException | Error e) {
+            DeadlineContext.exit();
+            throw e;
+        }
+    }
+
+    @Override
+    protected int determineTimeout(TransactionDefinition definition) {
+        Deadline deadline = DeadlineContext.current();
+        return deadline.isBounded() ? deadline.remainingSeconds() : super.determineTimeout(definition);
+    }
+
+    @Override
+    protected void doCleanupAfterCompletion(Object transaction) {
+        try {
+            super.doCleanupAfterCompletion(transaction);
+        } finally {
+            DeadlineContext.exit();
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.laithevolution.annotationlab.config;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+
+/**
+ * Routes connections by the current transaction's read-only flag: {@code @Transactional(readOnly = true)}
+ * goes to the replica pool, everything else to the primary.
+ * After a write, reads on the same thread stay on the primary for {@code stickyWindow} so they see
+ * their own writes despite replication lag.
+ * Must sit behind a LazyConnectionDataSourceProxy: the read-only flag is only bound after the
+ * transaction manager has begun the transaction.
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    public static final String PRIMARY = "primary";
+    public static final String REPLICA = "replica";
+
+    private static final ThreadLocal<Long> lastWriteNanos = new ThreadLocal<>();
+
+    private final long stickyWindowNanos;
+
+    public ReadWriteRoutingDataSource(Duration stickyWindow) {
+        this.stickyWindowNanos = stickyWindow.toNanos();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            markWrite();
+            return PRIMARY;
+        }
+        Long lastWrite = lastWriteNanos.get();
+        if (lastWrite != null && System.nanoTime() - lastWrite < stickyWindowNanos) {
+            return PRIMARY;
+        }
+        return REPLICA;
+    }
+
+    private void markWrite() {
+        lastWriteNanos.set(System.nanoTime());
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            // the window starts when the write becomes visible, not when its connection was taken
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    lastWriteNanos.set(System.nanoTime());
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.laithevolution.annotationlab.config;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceException;
+import org.hibernate.Session;
+import org.springframework.orm.jpa.vendor.HibernateJpaDialect;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.SavepointManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.TransactionSystemException;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+
+/**
+ * {@link HibernateJpaDialect} whose transaction data is a {@link SavepointManager}, which is what
+ * JpaTransactionManager requires for {@code Propagation.NESTED}. Savepoints are plain JDBC savepoints on the
+ * session's connection.
+ * <p>
+ * Rolling back to a savepoint does not touch the persistence context: callers must flush before the savepoint
+ * is taken and inside it, and detach what was rolled back.
+ */
+public class SavepointHibernateJpaDialect extends HibernateJpaDialect {
+
+    @Override
+    public Object beginTransaction(EntityManager entityManager, TransactionDefinition definition)
+            throws PersistenceException, SQLException, TransactionException {
+        return new SavepointTransactionData(entityManager, super.beginTransaction(entityManager, definition));
+    }
+
+    @Override
+    public void cleanupTransaction(Object transactionData) {
+        super.cleanupTransaction(transactionData instanceof SavepointTransactionData data
+                ? data.delegate : transactionData);
+    }
+
+    private static final class SavepointTransactionData implements SavepointManager {
+
+        private final EntityManager entityManager;
+        private final Object delegate;
+
+        private SavepointTransactionData(EntityManager entityManager, Object delegate) {
+            this.entityManager = entityManager;
+            this.delegate = delegate;
+        }
+
+        @Override
+        public Object createSavepoint() throws TransactionException {
+            try {
+                return connection().setSavepoint();
+            } catch (SQLException e) {
+                throw new CannotCreateTransactionException("Could not create JDBC savepoint", e);
+            }
+        }
+
+        @Override
+        public void rollbackToSavepoint(Object savepoint) throws TransactionException {
+            try {
+                connection().rollback((Savepoint) savepoint);
+            } catch (SQLException e) {
+                throw new TransactionSystemException("Could not roll back to JDBC savepoint", e);
+            }
+        }
+
+        @Override
+        public void releaseSavepoint(Object savepoint) throws TransactionException {
+            try {
+                connection().releaseSavepoint((Savepoint) savepoint);
+            } catch (SQLException e) {
+                // some drivers release savepoints implicitly; nothing left to clean up then
+            }
+        }
+
+        private Connection connection() {
+            return entityManager.unwrap(Session.class).doReturningWork(connection -> connection);
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.laithevolution.annotationlab.config;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.transaction.TransactionManagerCustomizers;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.orm.jpa.AbstractEntityManagerFactoryBean;
+import org.springframework.transaction.annotation.EnableTransactionManagement;
+
+/**
+ * Enables Propagation.NESTED: JpaTransactionManager allows nested transactions, but only runs them when the
+ * JpaDialect hands out savepoints, which the stock HibernateJpaDialect does not. The dialect is set on the
+ * entity manager factory before it initializes; the transaction manager picks it up from there.
+ * <p>
+ * The transaction manager itself is a {@link DeadlineJpaTransactionManager}, customized like the one Spring Boot
+ * would otherwise create (execution listeners, {@code spring.transaction.*} properties).
+ * <p>
+ * Transaction management is enabled here rather than by Spring Boot so the transaction advisor has a fixed order:
+ * aspects that must run inside the transaction order themselves after {@link #TRANSACTION_ADVISOR_ORDER}, the
+ * retry, latency and async limiter aspects (near highest precedence) stay outside it.
+ */
+@Configuration
+@EnableTransactionManagement(proxyTargetClass = true, order = TransactionManagerConfig.TRANSACTION_ADVISOR_ORDER)
+public class TransactionManagerConfig {
+
+    public static final int TRANSACTION_ADVISOR_ORDER = Ordered.LOWEST_PRECEDENCE - 100;
+
+    @Bean
+    public static BeanPostProcessor savepointJpaDialectPostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof AbstractEntityManagerFactoryBean entityManagerFactory) {
+                    entityManagerFactory.setJpaDialect(new SavepointHibernateJpaDialect());
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    public DeadlineJpaTransactionManager transactionManager(
+            ObjectProvider<TransactionManagerCustomizers> transactionManagerCustomizers) {
+        DeadlineJpaTransactionManager transactionManager = new DeadlineJpaTransactionManager();
+        transactionManagerCustomizers.ifAvailable(customizers -> customizers.customize(transactionManager));
+        return transactionManager;
+    }
+}
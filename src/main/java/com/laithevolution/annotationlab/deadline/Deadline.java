@@ -0,0 +1,74 @@
+package com.laithevolution.annotationlab.deadline;
+
+import org.springframework.transaction.TransactionTimedOutException;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A point in time by which a unit of work has to be finished, measured on {@link System#nanoTime()}.
+ * {@link #NONE} is the unbounded deadline.
+ */
+public final class Deadline {
+
+    public static final Deadline NONE = new Deadline(0, false);
+
+    private final long expiresAtNanos;
+    private final boolean bounded;
+
+    private Deadline(long expiresAtNanos, boolean bounded) {
+        this.expiresAtNanos = expiresAtNanos;
+        this.bounded = bounded;
+    }
+
+    public static Deadline after(Duration budget) {
+        return new Deadline(System.nanoTime() + budget.toNanos(), true);
+    }
+
+    public boolean isBounded() {
+        return bounded;
+    }
+
+    public boolean isExpired() {
+        return bounded && remainingNanos() <= 0;
+    }
+
+    /**
+     * Time left, negative once expired; {@link Long#MAX_VALUE} when unbounded.
+     */
+    public long remainingNanos() {
+        return bounded ? expiresAtNanos - System.nanoTime() : Long.MAX_VALUE;
+    }
+
+    /**
+     * Time left in whole seconds, rounded up, as transaction and JDBC query timeouts take it.
+     *
+     * @throws TransactionTimedOutException when the deadline has already passed
+     */
+    public int remainingSeconds() {
+        long remaining = remainingNanos();
+        if (remaining <= 0) {
+            throw new TransactionTimedOutException(
+                    "Deadline exceeded " + TimeUnit.NANOSECONDS.toMillis(-remaining) + " ms ago");
+        }
+        return (int) Math.min(Integer.MAX_VALUE, (remaining + 999_999_999L) / 1_000_000_000L);
+    }
+
+    /**
+     * The earlier of the two deadlines.
+     */
+    public Deadline min(Deadline other) {
+        if (!other.bounded) {
+            return this;
+        }
+        if (!bounded) {
+            return other;
+        }
+        return expiresAtNanos - other.expiresAtNanos <= 0 ? this : other;
+    }
+
+    @Override
+    public String toString() {
+        return bounded ? "Deadline[" + TimeUnit.NANOSECONDS.toMillis(remainingNanos()) + " ms left]" : "Deadline[none]";
+    }
+}
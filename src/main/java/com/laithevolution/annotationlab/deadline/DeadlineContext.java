@@ -0,0 +1,60 @@
+package com.laithevolution.annotationlab.deadline;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * Thread-bound stack of deadlines. The outermost transaction with a timeout opens the first one; every
+ * physical transaction started below it (REQUIRES_NEW) pushes the earlier of the inherited deadline and its own
+ * timeout, and pops it on completion. {@link DeadlineTaskDecorator} carries the current deadline to worker threads.
+ */
+public final class DeadlineContext {
+
+    private static final ThreadLocal<Deque<Deadline>> DEADLINES = new ThreadLocal<>();
+
+    private DeadlineContext() {
+    }
+
+    /**
+     * Deadline in effect on this thread, {@link Deadline#NONE} outside any.
+     */
+    public static Deadline current() {
+        Deque<Deadline> deadlines = DEADLINES.get();
+        return deadlines == null || deadlines.isEmpty() ? Deadline.NONE : deadlines.peek();
+    }
+
+    /**
+     * Opens a scope whose deadline is the earlier of the current one and {@code timeoutSeconds} from now
+     * (no own limit when not positive). Every call must be paired with {@link #exit()}.
+     */
+    public static Deadline enter(int timeoutSeconds) {
+        Deadline own = timeoutSeconds > 0 ? Deadline.after(Duration.ofSeconds(timeoutSeconds)) : Deadline.NONE;
+        Deadline effective = current().min(own);
+        push(effective);
+        return effective;
+    }
+
+    /**
+     * Installs a deadline handed over from another thread. Every call must be paired with {@link #exit()}.
+     */
+    public static void push(Deadline deadline) {
+        Deque<Deadline> deadlines = DEADLINES.get();
+        if (deadlines == null) {
+            deadlines = new ArrayDeque<>();
+            DEADLINES.set(deadlines);
+        }
+        deadlines.push(deadline);
+    }
+
+    public static void exit() {
+        Deque<Deadline> deadlines = DEADLINES.get();
+        if (deadlines == null || deadlines.isEmpty()) {
+            throw new IllegalStateException("No deadline scope open on " + Thread.currentThread().getName());
+        }
+        deadlines.pop();
+        if (deadlines.isEmpty()) {
+            DEADLINES.remove();
+        }
+    }
+}
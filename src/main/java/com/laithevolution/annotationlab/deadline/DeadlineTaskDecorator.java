@@ -0,0 +1,100 @@
+package com.laithevolution.annotationlab.deadline;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hands the submitting thread's deadline to the task: the worker runs under the same {@link DeadlineContext}
+ * (so transactions it begins get the remaining budget) and is interrupted once the deadline passes, so blocked
+ * or sleeping work stops promptly instead of running on after the caller has given up. Tasks submitted outside
+ * a deadline run unchanged.
+ * <p>
+ * Spring Boot applies a unique {@code TaskDecorator} bean to its own executor; the lab's executors are
+ * decorated in {@code AsyncConfig}. {@link #propagating} does the same for {@code CompletableFuture} stages.
+ */
+@Component
+public class DeadlineTaskDecorator implements TaskDecorator {
+
+    private final ScheduledExecutorService watchdog = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "deadline-watchdog");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @PreDestroy
+    void stopWatchdog() {
+        watchdog.shutdownNow();
+    }
+
+    @Override
+    public Runnable decorate(Runnable task) {
+        Deadline deadline = DeadlineContext.current();
+        if (!deadline.isBounded()) {
+            return task;
+        }
+        // an already expired deadline still runs the task: its transaction fails at begin and completes any future
+        return () -> {
+            Interrupter interrupter = new Interrupter(Thread.currentThread());
+            ScheduledFuture<?> timer = watchdog.schedule(
+                    interrupter, Math.max(0, deadline.remainingNanos()), TimeUnit.NANOSECONDS);
+            DeadlineContext.push(deadline);
+            try {
+                task.run();
+            } finally {
+                DeadlineContext.exit();
+                timer.cancel(false);
+                interrupter.disarm();
+            }
+        };
+    }
+
+    /**
+     * Executor for {@code CompletableFuture} stages that carries the caller's deadline like an {@code @Async} call.
+     */
+    public Executor propagating(Executor executor) {
+        return command -> executor.execute(decorate(command));
+    }
+
+    /**
+     * Fails {@code future} with a {@code TimeoutException} when the current deadline passes first.
+     */
+    public <T> CompletableFuture<T> within(CompletableFuture<T> future) {
+        Deadline deadline = DeadlineContext.current();
+        return deadline.isBounded()
+                ? future.orTimeout(Math.max(0, deadline.remainingNanos()), TimeUnit.NANOSECONDS)
+                : future;
+    }
+
+    /**
+     * Interrupts the worker only while the task runs, so a late timer cannot hit the next task of a pooled thread.
+     */
+    private static final class Interrupter implements Runnable {
+
+        private final Thread worker;
+        private boolean armed = true;
+
+        private Interrupter(Thread worker) {
+            this.worker = worker;
+        }
+
+        @Override
+        public synchronized void run() {
+            if (armed) {
+                worker.interrupt();
+            }
+        }
+
+        synchronized void disarm() {
+            armed = false;
+            Thread.interrupted();
+        }
+    }
+}
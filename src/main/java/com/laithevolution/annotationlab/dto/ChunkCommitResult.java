@@ -0,0 +1,25 @@
+package com.laithevolution.annotationlab.dto;
+
+import com.laithevolution.annotationlab.model.Client;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class ChunkCommitResult {
+    private int chunkIndex;
+    private int size;
+    private boolean committed;
+    private int attempts;
+    private String threadName;
+    private Exception exception;
+    @ToString.Exclude
+    private List<Client> clients;
+}
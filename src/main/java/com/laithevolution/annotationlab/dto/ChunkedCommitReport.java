@@ -0,0 +1,31 @@
+package com.laithevolution.annotationlab.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ChunkedCommitReport {
+    private List<ChunkCommitResult> chunks;
+
+    public List<ChunkCommitResult> getFailedChunks() {
+        return chunks.stream()
+                .filter(chunk -> !chunk.isCommitted())
+                .toList();
+    }
+
+    public int getCommittedRows() {
+        return chunks.stream()
+                .filter(ChunkCommitResult::isCommitted)
+                .mapToInt(ChunkCommitResult::getSize)
+                .sum();
+    }
+
+    public boolean isFullyCommitted() {
+        return getFailedChunks().isEmpty();
+    }
+}
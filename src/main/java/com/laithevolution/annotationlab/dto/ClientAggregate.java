@@ -0,0 +1,38 @@
+package com.laithevolution.annotationlab.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Read model of a client with its compliances and their invoices, detached from the persistence context.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class ClientAggregate {
+    private Long clientId;
+    private String name;
+    private String email;
+    private List<ComplianceLine> compliances;
+
+    /**
+     * One compliance flattened together with its (optional) invoice.
+     */
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    @Builder
+    public static class ComplianceLine {
+        private Long complianceId;
+        private String description;
+        private String status;
+        private Long invoiceId;
+        private Double invoiceAmount;
+        private String invoiceStatus;
+    }
+}
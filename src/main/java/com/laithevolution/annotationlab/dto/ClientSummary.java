@@ -0,0 +1,7 @@
+package com.laithevolution.annotationlab.dto;
+
+/**
+ * Scalar read model of a client, selected straight into the record without hydrating an entity.
+ */
+public record ClientSummary(Long id, String name, String email) {
+}
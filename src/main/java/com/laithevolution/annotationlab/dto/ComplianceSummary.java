@@ -0,0 +1,4 @@
+package com.laithevolution.annotationlab.dto;
+
+public record ComplianceSummary(Long id, String description, String status, Long clientId) {
+}
@@ -0,0 +1,19 @@
+package com.laithevolution.annotationlab.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class EntityCacheStats {
+    private String region;
+    private long hits;
+    private long misses;
+    private long evictions;
+    private long size;
+    private double hitRatio;
+}
@@ -0,0 +1,4 @@
+package com.laithevolution.annotationlab.dto;
+
+public record InvoiceSummary(Long id, Double amount, String status, Long complianceId) {
+}
@@ -0,0 +1,23 @@
+package com.laithevolution.annotationlab.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * One slice of a keyset (seek) scan.
+ * {@code nextToken} is opaque and encodes the last key of this page; it is {@code null} on the last page.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class KeysetPage<T> {
+    private List<T> content;
+    private String nextToken;
+
+    public boolean hasNext() {
+        return nextToken != null;
+    }
+}
@@ -0,0 +1,25 @@
+package com.laithevolution.annotationlab.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One sampling round of the adaptive pool controller: what it measured and the core size it chose.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class PoolSizingDecision {
+    private String executor;
+    private double arrivalsPerSecond;
+    private double serviceMillis;
+    private double queueWaitMillis;
+    private int queueDepth;
+    private int activeThreads;
+    private int targetSize;
+    private int previousCoreSize;
+    private int coreSize;
+}
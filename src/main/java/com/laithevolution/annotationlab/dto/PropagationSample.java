@@ -0,0 +1,26 @@
+package com.laithevolution.annotationlab.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class PropagationSample {
+    private long sequence;
+    private String method;
+    private String propagation;
+    private String isolation;
+    private boolean readOnly;
+    private String threadName;
+    private boolean transactionActiveBefore;
+    private String transactionNameBefore;
+    private int synchronizationsBefore;
+    private boolean transactionActiveAfter;
+    private String transactionNameAfter;
+    private long durationNanos;
+    private boolean failed;
+}
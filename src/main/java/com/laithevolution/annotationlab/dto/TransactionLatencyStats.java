@@ -0,0 +1,26 @@
+package com.laithevolution.annotationlab.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class TransactionLatencyStats {
+    private String transactionName;
+    private String propagation;
+    private long physical;
+    private long joined;
+    private long savepoints;
+    private long nonTransactional;
+    private long commits;
+    private long rollbacks;
+    private long suspends;
+    private long resumes;
+    private Map<String, LatencySummary> phases;
+}
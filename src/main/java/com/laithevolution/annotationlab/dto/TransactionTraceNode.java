@@ -0,0 +1,42 @@
+package com.laithevolution.annotationlab.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * One transactional call in a trace tree. Offsets are relative to the start of the root call.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class TransactionTraceNode {
+
+    public enum Kind {
+        /** Began its own physical transaction. */
+        NEW,
+        /** Participated in the caller's transaction. */
+        JOINED,
+        /** Ran inside a savepoint of the caller's transaction. */
+        SAVEPOINT,
+        /** Ran without a transaction. */
+        NONE
+    }
+
+    private String method;
+    private String propagation;
+    private Kind kind;
+    private String transactionName;
+    private boolean suspendsOuter;
+    private boolean rollbackOnly;
+    private boolean failed;
+    private String exception;
+    private String threadName;
+    private long startOffsetNanos;
+    private long durationNanos;
+    private List<TransactionTraceNode> children;
+}
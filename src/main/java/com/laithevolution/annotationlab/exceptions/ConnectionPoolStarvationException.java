@@ -0,0 +1,13 @@
+package com.laithevolution.annotationlab.exceptions;
+
+import java.sql.SQLTransientConnectionException;
+
+/**
+ * Thrown instead of blocking when a nested connection request can never be served by the pool.
+ * A {@link SQLTransientConnectionException}, like the pool's own acquisition timeout, so it surfaces the same way.
+ */
+public class ConnectionPoolStarvationException extends SQLTransientConnectionException {
+    public ConnectionPoolStarvationException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,36 @@
+package com.laithevolution.annotationlab.exceptions;
+
+import org.springframework.core.task.TaskRejectedException;
+
+import java.time.Duration;
+
+/**
+ * Thrown (or used to fail the returned future) when an executor has no admission permit left for a task.
+ * A {@link TaskRejectedException}, like the pool's own rejection, so existing handlers keep working.
+ */
+public class ExecutorOverloadedException extends TaskRejectedException {
+
+    private final String executorName;
+    private final int limit;
+    private final Duration waited;
+
+    public ExecutorOverloadedException(String executorName, int limit, Duration waited) {
+        super("Executor " + executorName + " is overloaded: " + limit + " tasks in flight, no permit within "
+                + waited.toMillis() + " ms");
+        this.executorName = executorName;
+        this.limit = limit;
+        this.waited = waited;
+    }
+
+    public String getExecutorName() {
+        return executorName;
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public Duration getWaited() {
+        return waited;
+    }
+}
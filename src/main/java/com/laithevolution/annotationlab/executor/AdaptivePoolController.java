@@ -0,0 +1,209 @@
+package com.laithevolution.annotationlab.executor;
+
+import com.laithevolution.annotationlab.dto.PoolSizingDecision;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Resizes {@code bigTaskExecutor} from what it observes instead of a fixed core size.
+ * <p>
+ * A {@code ThreadPoolExecutor} only starts threads beyond its core size once the queue is full, so a fixed
+ * core of 4 runs at 4 threads until it rejects. Every {@code interval} this controller takes the arrival rate,
+ * the mean execution time and the queue depth over the last interval and sets the core size to
+ * {@code ceil((arrivals/s * service time + queued * service time / interval) * headroom)}: Little's law for the
+ * threads the current load keeps busy, plus enough to drain the backlog within one interval. Growth is applied at
+ * once; shrinking removes at most a quarter of the threads per round, so a short lull does not undo a burst.
+ * The core size stays within {@code min-size}..{@code max-size}; the maximum pool size is set to {@code max-size}.
+ * <p>
+ * Resizes are logged at INFO, every other round at DEBUG. Metrics (tag {@code executor}):
+ * {@code executor.adaptive.size}, {@code executor.adaptive.target}, {@code executor.adaptive.arrivals}
+ * (per second), {@code executor.adaptive.service} and {@code executor.adaptive.queue.wait} (ms), and
+ * {@code executor.adaptive.resizes} (tag {@code direction}: up / down).
+ */
+@Component
+@ConditionalOnProperty(name = "annotationlab.executor.big-task.adaptive.enabled", havingValue = "true")
+@Slf4j
+public class AdaptivePoolController {
+
+    private static final String EXECUTOR = "bigTaskExecutor";
+
+    private final ThreadPoolTaskExecutor executor;
+    private final TaskTimings timings;
+    private final int minSize;
+    private final int maxSize;
+    private final Duration interval;
+    private final double headroom;
+    private final Counter resizesUp;
+    private final Counter resizesDown;
+
+    private ScheduledExecutorService sampler;
+    private TaskTimings.Snapshot previous;
+    private double serviceNanos = -1;
+    private volatile PoolSizingDecision lastDecision;
+
+    public AdaptivePoolController(
+            @Qualifier("bigTaskExecutor") ThreadPoolTaskExecutor executor,
+            @Qualifier("bigTaskExecutorTimings") TaskTimings timings,
+            MeterRegistry meterRegistry,
+            @Value("${annotationlab.executor.big-task.adaptive.min-size:4}") int minSize,
+            @Value("${annotationlab.executor.big-task.adaptive.max-size:32}") int maxSize,
+            @Value("${annotationlab.executor.big-task.adaptive.interval:1s}") Duration interval,
+            @Value("${annotationlab.executor.big-task.adaptive.headroom:1.2}") double headroom) {
+        if (minSize < 1 || maxSize < minSize) {
+            throw new IllegalArgumentException("Adaptive pool bounds must satisfy 1 <= min-size <= max-size");
+        }
+        this.executor = executor;
+        this.timings = timings;
+        this.minSize = minSize;
+        this.maxSize = maxSize;
+        this.interval = interval;
+        this.headroom = headroom;
+        this.previous = timings.snapshot();
+
+        int coreSize = clamp(executor.getCorePoolSize());
+        // ThreadPoolExecutor rejects core > max at every step, so the order depends on the direction
+        if (maxSize >= executor.getCorePoolSize()) {
+            executor.setMaxPoolSize(maxSize);
+            executor.setCorePoolSize(coreSize);
+        } else {
+            executor.setCorePoolSize(coreSize);
+            executor.setMaxPoolSize(maxSize);
+        }
+        this.lastDecision = PoolSizingDecision.builder()
+                .executor(EXECUTOR)
+                .targetSize(coreSize)
+                .previousCoreSize(coreSize)
+                .coreSize(coreSize)
+                .build();
+
+        this.resizesUp = resizes(meterRegistry, "up");
+        this.resizesDown = resizes(meterRegistry, "down");
+        gauge(meterRegistry, "executor.adaptive.size", "threads", () -> executor.getCorePoolSize());
+        gauge(meterRegistry, "executor.adaptive.target", "threads", () -> lastDecision.getTargetSize());
+        gauge(meterRegistry, "executor.adaptive.arrivals", "tasks/s", () -> lastDecision.getArrivalsPerSecond());
+        gauge(meterRegistry, "executor.adaptive.service", "ms", () -> lastDecision.getServiceMillis());
+        gauge(meterRegistry, "executor.adaptive.queue.wait", "ms", () -> lastDecision.getQueueWaitMillis());
+    }
+
+    @PostConstruct
+    void startSampling() {
+        sampler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "adaptive-pool-controller");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long millis = interval.toMillis();
+        sampler.scheduleWithFixedDelay(this::sampleSafely, millis, millis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stopSampling() {
+        sampler.shutdownNow();
+    }
+
+    /**
+     * Runs one sampling round now: measures the interval since the previous round and applies the new core size.
+     */
+    public synchronized PoolSizingDecision sample() {
+        TaskTimings.Snapshot now = timings.snapshot();
+        double seconds = (now.takenAtNanos() - previous.takenAtNanos()) / 1e9;
+        if (seconds < 0.001) {
+            return lastDecision;
+        }
+        long started = now.started() - previous.started();
+        long completed = now.completed() - previous.completed();
+        double arrivalsPerSecond = (now.submitted() - previous.submitted()) / seconds;
+        if (completed > 0) {
+            double observed = (double) (now.executionNanos() - previous.executionNanos()) / completed;
+            serviceNanos = serviceNanos < 0 ? observed : (serviceNanos + observed) / 2;
+        }
+        double queueWaitMillis = started > 0 ? (now.waitNanos() - previous.waitNanos()) / 1e6 / started : 0;
+        previous = now;
+
+        int queueDepth = executor.getThreadPoolExecutor().getQueue().size();
+        int coreSize = executor.getCorePoolSize();
+        int target;
+        if (serviceNanos < 0) {
+            // nothing has finished yet, so there is no service time to apply Little's law with
+            target = clamp(coreSize + queueDepth);
+        } else {
+            double serviceSeconds = serviceNanos / 1e9;
+            double busy = arrivalsPerSecond * serviceSeconds;
+            double backlog = queueDepth * serviceSeconds / seconds;
+            target = clamp((int) Math.ceil((busy + backlog) * headroom));
+        }
+        int nextSize = target >= coreSize ? target : Math.max(target, coreSize - Math.max(1, coreSize / 4));
+
+        PoolSizingDecision decision = PoolSizingDecision.builder()
+                .executor(EXECUTOR)
+                .arrivalsPerSecond(arrivalsPerSecond)
+                .serviceMillis(serviceNanos < 0 ? 0 : serviceNanos / 1e6)
+                .queueWaitMillis(queueWaitMillis)
+                .queueDepth(queueDepth)
+                .activeThreads(executor.getActiveCount())
+                .targetSize(target)
+                .previousCoreSize(coreSize)
+                .coreSize(nextSize)
+                .build();
+        if (nextSize != coreSize) {
+            executor.setCorePoolSize(nextSize);
+            (nextSize > coreSize ? resizesUp : resizesDown).increment();
+            log.info("{} core size {} -> {} (target {}, {} tasks/s, service {} ms, queue {}, wait {} ms)",
+                    EXECUTOR, coreSize, nextSize, target, round(arrivalsPerSecond),
+                    round(decision.getServiceMillis()), queueDepth, round(queueWaitMillis));
+        } else {
+            log.debug("{} core size stays {} (target {}, {} tasks/s, service {} ms, queue {}, wait {} ms)",
+                    EXECUTOR, coreSize, target, round(arrivalsPerSecond),
+                    round(decision.getServiceMillis()), queueDepth, round(queueWaitMillis));
+        }
+        lastDecision = decision;
+        return decision;
+    }
+
+    public PoolSizingDecision lastDecision() {
+        return lastDecision;
+    }
+
+    private void sampleSafely() {
+        try {
+            sample();
+        } catch (RuntimeException e) {
+            log.warn("Adaptive sizing round for {} failed", EXECUTOR, e);
+        }
+    }
+
+    private int clamp(int size) {
+        return Math.max(minSize, Math.min(maxSize, size));
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 10) / 10.0;
+    }
+
+    private static Counter resizes(MeterRegistry registry, String direction) {
+        return Counter.builder("executor.adaptive.resizes")
+                .tag("executor", EXECUTOR)
+                .tag("direction", direction)
+                .register(registry);
+    }
+
+    private static void gauge(MeterRegistry registry, String name, String unit,
+                              Supplier<Number> value) {
+        Gauge.builder(name, value).tag("executor", EXECUTOR).baseUnit(unit).register(registry);
+    }
+}
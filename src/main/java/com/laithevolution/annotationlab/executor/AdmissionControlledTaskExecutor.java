@@ -0,0 +1,243 @@
+package com.laithevolution.annotationlab.executor;
+
+import com.laithevolution.annotationlab.deadline.DeadlineContext;
+import com.laithevolution.annotationlab.exceptions.ExecutorOverloadedException;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.util.concurrent.ListenableFuture;
+import org.springframework.util.concurrent.ListenableFutureTask;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * {@link ThreadPoolTaskExecutor} that admits a task only with one of {@code maxPoolSize + queueCapacity} permits,
+ * so bursts are handled at submission instead of by the pool's rejection policy.
+ * <p>
+ * Without a free permit the submitting thread waits up to {@code admissionWait} (never past its own deadline),
+ * which slows producers down to the pool's pace. If no permit frees up in time the task is shed:
+ * {@link #submitCompletable} returns a future already failed with {@link ExecutorOverloadedException}, the other
+ * submit methods throw it. Permits follow {@link #setMaxPoolSize} and {@link #setQueueCapacity}, so a pool resized
+ * at runtime admits accordingly.
+ * <p>
+ * Metrics (tag {@code executor}, the bean name): {@code executor.admission.shed}, {@code executor.admission.wait}
+ * (submissions that had to wait, and how long), {@code executor.admission.in.flight} and
+ * {@code executor.admission.limit}.
+ */
+public class AdmissionControlledTaskExecutor extends ThreadPoolTaskExecutor implements MeterBinder {
+
+    private final AdmissionPermits permits = new AdmissionPermits();
+    private final LongAdder shed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder waited = new LongAdder();
+    private final LongAdder waitNanos = new LongAdder();
+    private String executorName = "executor";
+    private Duration admissionWait = Duration.ZERO;
+
+    public AdmissionControlledTaskExecutor() {
+        permits.resize(limit());
+        setRejectedExecutionHandler(this::awaitQueueSlot);
+    }
+
+    /**
+     * How long a submission waits for a permit before it is shed; zero (the default) sheds at once.
+     */
+    public void setAdmissionWait(Duration admissionWait) {
+        this.admissionWait = admissionWait;
+    }
+
+    @Override
+    public void setMaxPoolSize(int maxPoolSize) {
+        int before = limit();
+        super.setMaxPoolSize(maxPoolSize);
+        permits.resize(limit() - before);
+    }
+
+    @Override
+    public void setQueueCapacity(int queueCapacity) {
+        int before = limit();
+        super.setQueueCapacity(queueCapacity);
+        permits.resize(limit() - before);
+    }
+
+    @Override
+    public void setBeanName(String name) {
+        super.setBeanName(name);
+        this.executorName = name;
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        admit();
+        try {
+            super.execute(() -> {
+                try {
+                    task.run();
+                } finally {
+                    permits.release();
+                }
+            });
+        } catch (RuntimeException e) {
+            permits.release();
+            rejected.increment();
+            throw e;
+        }
+    }
+
+    @Override
+    public Future<?> submit(Runnable task) {
+        FutureTask<Object> future = new FutureTask<>(task, null);
+        execute(future);
+        return future;
+    }
+
+    @Override
+    public <T> Future<T> submit(Callable<T> task) {
+        FutureTask<T> future = new FutureTask<>(task);
+        execute(future);
+        return future;
+    }
+
+    @Override
+    @SuppressWarnings("removal")
+    public ListenableFuture<?> submitListenable(Runnable task) {
+        ListenableFutureTask<Object> future = new ListenableFutureTask<>(task, null);
+        execute(future);
+        return future;
+    }
+
+    @Override
+    @SuppressWarnings("removal")
+    public <T> ListenableFuture<T> submitListenable(Callable<T> task) {
+        ListenableFutureTask<T> future = new ListenableFutureTask<>(task);
+        execute(future);
+        return future;
+    }
+
+    @Override
+    public CompletableFuture<Void> submitCompletable(Runnable task) {
+        try {
+            return super.submitCompletable(task);
+        } catch (ExecutorOverloadedException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    @Override
+    public <T> CompletableFuture<T> submitCompletable(Callable<T> task) {
+        try {
+            return super.submitCompletable(task);
+        } catch (ExecutorOverloadedException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    public int limit() {
+        return (int) Math.min(Integer.MAX_VALUE, (long) getMaxPoolSize() + getQueueCapacity());
+    }
+
+    public int inFlight() {
+        return limit() - permits.availablePermits();
+    }
+
+    public long shedCount() {
+        return shed.sum();
+    }
+
+    /**
+     * Every task refused: shed at admission, or refused by the pool itself (shut down, or no queue slot freed up).
+     */
+    public long rejectedCount() {
+        return shed.sum() + rejected.sum();
+    }
+
+    public long waitedCount() {
+        return waited.sum();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("executor.admission.shed", shed, LongAdder::sum)
+                .tag("executor", executorName)
+                .description("Submissions rejected for lack of an admission permit")
+                .register(registry);
+        FunctionTimer.builder("executor.admission.wait", this,
+                        executor -> executor.waited.sum(), executor -> executor.waitNanos.sum(),
+                        TimeUnit.NANOSECONDS)
+                .tag("executor", executorName)
+                .description("Submissions that waited for an admission permit")
+                .register(registry);
+        Gauge.builder("executor.admission.in.flight", this, AdmissionControlledTaskExecutor::inFlight)
+                .tag("executor", executorName)
+                .register(registry);
+        Gauge.builder("executor.admission.limit", this, AdmissionControlledTaskExecutor::limit)
+                .tag("executor", executorName)
+                .register(registry);
+    }
+
+    private void admit() {
+        if (permits.tryAcquire()) {
+            return;
+        }
+        long waitNanos = Math.min(admissionWait.toNanos(), Math.max(0, DeadlineContext.current().remainingNanos()));
+        long start = System.nanoTime();
+        boolean acquired = false;
+        if (waitNanos > 0) {
+            try {
+                acquired = permits.tryAcquire(waitNanos, TimeUnit.NANOSECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            waited.increment();
+            this.waitNanos.add(System.nanoTime() - start);
+        }
+        if (!acquired) {
+            shed.increment();
+            throw new ExecutorOverloadedException(executorName, limit(), Duration.ofNanos(System.nanoTime() - start));
+        }
+    }
+
+    /**
+     * Admitted tasks never outnumber pool + queue capacity, so the pool only finds its queue full while a worker
+     * has finished a task but not yet taken the next one; hand the task over once it has.
+     */
+    private void awaitQueueSlot(Runnable task, ThreadPoolExecutor pool) {
+        if (!pool.isShutdown()) {
+            try {
+                if (pool.getQueue().offer(task, 1, TimeUnit.SECONDS)) {
+                    return;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        throw new RejectedExecutionException("Executor " + executorName + " did not accept an admitted task");
+    }
+
+    private static final class AdmissionPermits extends Semaphore {
+
+        private AdmissionPermits() {
+            super(0, true);
+        }
+
+        private void resize(int delta) {
+            if (delta > 0) {
+                release(delta);
+            } else if (delta < 0) {
+                reducePermits(-delta);
+            }
+        }
+    }
+}
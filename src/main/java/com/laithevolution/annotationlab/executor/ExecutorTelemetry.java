@@ -0,0 +1,128 @@
+package com.laithevolution.annotationlab.executor;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-executor task metrics, fed by the {@link TaskDecorator} each executor gets from {@link #instrument}.
+ * <p>
+ * Meters (tag {@code executor}): {@code executor.tasks.active}, {@code executor.tasks.completed},
+ * {@code executor.tasks.wait} and {@code executor.tasks.execution} (timers with percentile histograms), and for
+ * pools {@code executor.tasks.queued} and {@code executor.tasks.rejected} (admission sheds plus the pool's own
+ * rejections, where {@code executor.admission.shed} only has the former). Executors instrumented after the
+ * registry was bound (the default {@code @Async} executor is created on first use) are registered right away.
+ */
+@Component
+public class ExecutorTelemetry implements MeterBinder {
+
+    private final List<Probe> probes = new ArrayList<>();
+    private MeterRegistry registry;
+
+    /**
+     * Instruments a pool; queue depth and shed tasks are read from the pool itself.
+     */
+    public TaskDecorator instrument(String name, AdmissionControlledTaskExecutor pool) {
+        return register(new Probe(name, pool));
+    }
+
+    /**
+     * Instruments a thread-per-task executor, which has no queue and never sheds.
+     */
+    public TaskDecorator instrument(String name) {
+        return register(new Probe(name, null));
+    }
+
+    @Override
+    public synchronized void bindTo(MeterRegistry registry) {
+        this.registry = registry;
+        probes.forEach(probe -> probe.bindTo(registry));
+    }
+
+    private synchronized TaskDecorator register(Probe probe) {
+        probes.add(probe);
+        if (registry != null) {
+            probe.bindTo(registry);
+        }
+        return probe;
+    }
+
+    private static final class Probe implements TaskDecorator {
+
+        private final String name;
+        private final AdmissionControlledTaskExecutor pool;
+        private final AtomicInteger active = new AtomicInteger();
+        private final LongAdder completed = new LongAdder();
+        private volatile Timer waitTimer;
+        private volatile Timer executionTimer;
+
+        private Probe(String name, AdmissionControlledTaskExecutor pool) {
+            this.name = name;
+            this.pool = pool;
+        }
+
+        @Override
+        public Runnable decorate(Runnable task) {
+            long submittedAt = System.nanoTime();
+            return () -> {
+                long startedAt = System.nanoTime();
+                record(waitTimer, startedAt - submittedAt);
+                active.incrementAndGet();
+                try {
+                    task.run();
+                } finally {
+                    active.decrementAndGet();
+                    completed.increment();
+                    record(executionTimer, System.nanoTime() - startedAt);
+                }
+            };
+        }
+
+        private void bindTo(MeterRegistry registry) {
+            Gauge.builder("executor.tasks.active", active, AtomicInteger::get)
+                    .tag("executor", name)
+                    .description("Tasks running right now")
+                    .register(registry);
+            FunctionCounter.builder("executor.tasks.completed", completed, LongAdder::sum)
+                    .tag("executor", name)
+                    .description("Tasks finished, successfully or not")
+                    .register(registry);
+            waitTimer = Timer.builder("executor.tasks.wait")
+                    .tag("executor", name)
+                    .description("Time from submission until a thread starts the task")
+                    .publishPercentileHistogram()
+                    .register(registry);
+            executionTimer = Timer.builder("executor.tasks.execution")
+                    .tag("executor", name)
+                    .description("Time a thread spends running the task")
+                    .publishPercentileHistogram()
+                    .register(registry);
+            if (pool != null) {
+                Gauge.builder("executor.tasks.queued", pool, executor -> executor.getQueueSize())
+                        .tag("executor", name)
+                        .description("Tasks waiting in the pool's queue")
+                        .register(registry);
+                FunctionCounter.builder("executor.tasks.rejected", pool, AdmissionControlledTaskExecutor::rejectedCount)
+                        .tag("executor", name)
+                        .description("Tasks shed at admission or refused by the pool")
+                        .register(registry);
+            }
+        }
+
+        private static void record(Timer timer, long nanos) {
+            if (timer != null) {
+                timer.record(nanos, TimeUnit.NANOSECONDS);
+            }
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.laithevolution.annotationlab.executor;
+
+import org.springframework.core.task.TaskDecorator;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Cumulative submission, queue-wait and execution counters for one executor, fed by {@link #decorator()}.
+ * Readers take a {@link #snapshot()} and work with deltas between two of them.
+ */
+public class TaskTimings {
+
+    private final LongAdder submitted = new LongAdder();
+    private final LongAdder started = new LongAdder();
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder waitNanos = new LongAdder();
+    private final LongAdder executionNanos = new LongAdder();
+
+    /**
+     * Counts every submission, including ones the executor then rejects, and times queue wait and execution.
+     */
+    public TaskDecorator decorator() {
+        return task -> {
+            submitted.increment();
+            long enqueuedAt = System.nanoTime();
+            return () -> {
+                long startedAt = System.nanoTime();
+                waitNanos.add(startedAt - enqueuedAt);
+                started.increment();
+                try {
+                    task.run();
+                } finally {
+                    executionNanos.add(System.nanoTime() - startedAt);
+                    completed.increment();
+                }
+            };
+        };
+    }
+
+    public Snapshot snapshot() {
+        return new Snapshot(System.nanoTime(), submitted.sum(), started.sum(), completed.sum(),
+                waitNanos.sum(), executionNanos.sum());
+    }
+
+    public record Snapshot(long takenAtNanos, long submitted, long started, long completed,
+                           long waitNanos, long executionNanos) {
+    }
+}
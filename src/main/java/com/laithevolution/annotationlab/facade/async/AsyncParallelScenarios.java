@@ -2,12 +2,20 @@ package com.laithevolution.annotationlab.facade.async;
 
 import com.laithevolution.annotationlab.dto.AsyncResult;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.context.annotation.Lazy;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.RandomAccess;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
@@ -18,6 +26,10 @@ public class AsyncParallelScenarios {
     @Autowired
     private AsyncParallelScenarios self;
 
+    @Autowired
+    @Qualifier("parallelComputePool")
+    private ForkJoinPool parallelComputePool;
+
     /**
      * Scenario 5a: Single async task simulation
      *  Simulates a delay to represent async work
@@ -60,4 +72,71 @@ public class AsyncParallelScenarios {
                 .map(CompletableFuture::join)
                 .collect(Collectors.toList());
     }
+
+    /**
+     * Scenario 5c: CPU-bound work split on {@code parallelComputePool}
+     *  Halves {@code [fromInclusive, toExclusive)} until a slice holds at most {@code grainSize} indices, runs the
+     *  kernel on each slice and combines partial results left to right, so the combiner only has to be associative.
+     *  Idle workers steal the larger, not yet split halves, which keeps all cores busy without one task per slice.
+     */
+    public <R> R computeOverRange(int fromInclusive, int toExclusive, int grainSize,
+                                  RangeKernel<R> kernel, BinaryOperator<R> combiner) {
+        if (grainSize <= 0) {
+            throw new IllegalArgumentException("grainSize must be positive");
+        }
+        if (toExclusive < fromInclusive) {
+            throw new IllegalArgumentException("Range end " + toExclusive + " is before its start " + fromInclusive);
+        }
+        return parallelComputePool.invoke(new RangeTask<>(fromInclusive, toExclusive, grainSize, kernel, combiner));
+    }
+
+    /**
+     * Like {@link #computeOverRange(int, int, int, RangeKernel, BinaryOperator)}, with about eight slices per worker.
+     */
+    public <R> R computeOverRange(int fromInclusive, int toExclusive, RangeKernel<R> kernel, BinaryOperator<R> combiner) {
+        long slices = (long) parallelComputePool.getParallelism() * 8;
+        int grainSize = (int) Math.max(1, ((long) toExclusive - fromInclusive) / slices);
+        return computeOverRange(fromInclusive, toExclusive, grainSize, kernel, combiner);
+    }
+
+    /**
+     * Scenario 5d: Collection variant of 5c; the kernel receives sub-list views of {@code items}.
+     */
+    public <T, R> R computeOverCollection(Collection<T> items, int grainSize,
+                                          Function<List<T>, R> kernel, BinaryOperator<R> combiner) {
+        List<T> list = items instanceof List<T> l && items instanceof RandomAccess ? l : new ArrayList<>(items);
+        return computeOverRange(0, list.size(), grainSize,
+                (from, to) -> kernel.apply(list.subList(from, to)), combiner);
+    }
+
+    private static final class RangeTask<R> extends RecursiveTask<R> {
+
+        private final int from;
+        private final int to;
+        private final int grainSize;
+        private final RangeKernel<R> kernel;
+        private final BinaryOperator<R> combiner;
+
+        private RangeTask(int from, int to, int grainSize, RangeKernel<R> kernel, BinaryOperator<R> combiner) {
+            this.from = from;
+            this.to = to;
+            this.grainSize = grainSize;
+            this.kernel = kernel;
+            this.combiner = combiner;
+        }
+
+        @Override
+        protected R compute() {
+            // long arithmetic: the width of a range spanning negative and positive bounds can exceed int
+            long width = (long) to - from;
+            if (width <= grainSize) {
+                return kernel.apply(from, to);
+            }
+            int mid = from + (int) (width / 2);
+            RangeTask<R> left = new RangeTask<>(from, mid, grainSize, kernel, combiner);
+            left.fork();
+            R right = new RangeTask<>(mid, to, grainSize, kernel, combiner).compute();
+            return combiner.apply(left.join(), right);
+        }
+    }
 }
@@ -1,39 +1,33 @@
 package com.laithevolution.annotationlab.facade.async;
 
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Lazy;
 import org.springframework.scheduling.annotation.Async;
-import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.stereotype.Service;
 
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
 
+/**
+ * Pool behaviour scenarios. Active threads, queue depth, completions, rejections and wait/execution times of the
+ * pools are exported as {@code executor.tasks.*} metrics by {@code ExecutorTelemetry}.
+ */
 @Service
+@Slf4j
 public class AsyncPoolSimulationScenarios {
 
     @Lazy
     @Autowired
     public AsyncPoolSimulationScenarios self;
 
-    @Autowired
-    private ThreadPoolTaskExecutor asyncPoolSimulationExecutor;
-
-    @Autowired
-    private ThreadPoolTaskExecutor bigTaskExecutor;
-
     // Scenario 1: Async task using small executor
 
     @Async("asyncPoolSimulationExecutor")
     public CompletableFuture<String> performAsyncTask(int taskId, long delayMillis) {
-        Thread current = Thread.currentThread();
-        String threadName = current.getName();
-        int activeCount = asyncPoolSimulationExecutor.getActiveCount();
-        int queueSize = asyncPoolSimulationExecutor.getThreadPoolExecutor().getQueue().size();
-
-        System.out.println("[SmallExecutor] Task-" + taskId + " started on " + threadName +
-                " | ActiveThreads: " + activeCount + ", QueueSize: " + queueSize);
+        String threadName = Thread.currentThread().getName();
+        log.debug("[SmallExecutor] Task-{} started on {}", taskId, threadName);
 
         try {
             Thread.sleep(delayMillis);
@@ -42,7 +36,7 @@ public class AsyncPoolSimulationScenarios {
         }
 
         String msg = "Task-" + taskId + " done on " + threadName;
-        System.out.println("[SmallExecutor] " + msg);
+        log.debug("[SmallExecutor] {}", msg);
         return CompletableFuture.completedFuture(msg);
     }
 
@@ -50,13 +44,8 @@ public class AsyncPoolSimulationScenarios {
 
     @Async("bigTaskExecutor")
     public CompletableFuture<String> performBigAsyncTask(int taskId, long delayMillis) {
-        Thread current = Thread.currentThread();
-        String threadName = current.getName();
-        int activeCount = bigTaskExecutor.getActiveCount();
-        int queueSize = bigTaskExecutor.getThreadPoolExecutor().getQueue().size();
-
-        System.out.println("[BigExecutor] BigTask-" + taskId + " started on " + threadName +
-                " | ActiveThreads: " + activeCount + ", QueueSize: " + queueSize);
+        String threadName = Thread.currentThread().getName();
+        log.debug("[BigExecutor] BigTask-{} started on {}", taskId, threadName);
 
         try {
             Thread.sleep(delayMillis);
@@ -65,7 +54,7 @@ public class AsyncPoolSimulationScenarios {
         }
 
         String msg = "BigTask-" + taskId + " done on " + threadName;
-        System.out.println("[BigExecutor] " + msg);
+        log.debug("[BigExecutor] {}", msg);
         return CompletableFuture.completedFuture(msg);
     }
 
@@ -90,13 +79,7 @@ public class AsyncPoolSimulationScenarios {
     // Scenario 4: Task that can fail
     @Async("asyncPoolSimulationExecutor")
     public CompletableFuture<String> submitTaskWithFailure(int taskId, long delayMillis, boolean failTask) {
-        Thread current = Thread.currentThread();
-        String threadName = current.getName();
-        int activeCount = asyncPoolSimulationExecutor.getActiveCount();
-        int queueSize = asyncPoolSimulationExecutor.getThreadPoolExecutor().getQueue().size();
-
-        System.out.println("[SmallExecutor] TaskWithFailure-" + taskId + " started on " + threadName +
-                " | ActiveThreads: " + activeCount + ", QueueSize: " + queueSize);
+        log.debug("[SmallExecutor] TaskWithFailure-{} started on {}", taskId, Thread.currentThread().getName());
 
         try {
             Thread.sleep(delayMillis);
@@ -110,7 +93,7 @@ public class AsyncPoolSimulationScenarios {
         // inside an @Async method using the same small pool; it can deadlock.
 
         String msg = "Task-" + taskId + " done";
-        System.out.println("[SmallExecutor] " + msg);
+        log.debug("[SmallExecutor] {}", msg);
         return CompletableFuture.completedFuture(msg);
     }
 }
@@ -14,6 +14,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 
 @Service
 @RequiredArgsConstructor
@@ -62,6 +63,41 @@ public class AsyncTransactionalScenarios {
         return CompletableFuture.completedFuture("Success");
     }
 
+    /**
+     * Deadline propagation: the parent's 2 s budget carries into the async child's thread. The child's transaction
+     * gets only what is left, and the child is interrupted once the budget is spent, so the parent fails after
+     * about 2 s instead of waiting for {@code childWorkMillis} and committing nothing anyway.
+     */
+    @Transactional(timeout = 2)
+    public String parentWithTimeoutAwaitingAsyncChild(Long clientId, long childWorkMillis) {
+        try {
+            return self.asyncChildWithinParentDeadline(clientId, childWorkMillis).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Async child failed", e.getCause());
+        }
+    }
+
+    @Async
+    @Transactional
+    public CompletableFuture<String> asyncChildWithinParentDeadline(Long clientId, long workMillis) {
+        Client client = clientRepository.findById(clientId)
+                .orElseThrow(() -> new RuntimeException("Client not found"));
+        try {
+            Thread.sleep(workMillis);
+        } catch (InterruptedException e) {
+            throw new RuntimeException("Async child interrupted", e);
+        }
+        complianceRepository.save(Compliance.builder()
+                .description("Deadline Compliance")
+                .status("PENDING")
+                .client(client)
+                .build());
+        return CompletableFuture.completedFuture(Thread.currentThread().getName());
+    }
+
     public String triggerAsyncTransactionalOperation(Long clientId, boolean fail) {
         try {
             return self.asyncTransactionalOperation(clientId, fail).get();
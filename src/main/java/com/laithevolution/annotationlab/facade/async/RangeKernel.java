@@ -0,0 +1,11 @@
+package com.laithevolution.annotationlab.facade.async;
+
+/**
+ * Leaf computation of {@link AsyncParallelScenarios#computeOverRange}: reduces one slice of the range to a
+ * partial result. An empty slice must yield the combiner's identity.
+ */
+@FunctionalInterface
+public interface RangeKernel<R> {
+
+    R apply(int fromInclusive, int toExclusive);
+}
@@ -0,0 +1,26 @@
+package com.laithevolution.annotationlab.facade.transactional;
+
+/**
+ * Points inside {@link TransactionalIsolationScenarios} where a concurrent transaction is expected to run.
+ * Each is reached on the scenario's own thread while its transaction is still open.
+ */
+public enum IsolationCheckpoint {
+
+    /** Scenario 1: the writer's update is flushed but not committed. */
+    WRITER_UPDATED,
+
+    /** Scenario 2: the reader has read the client once and is about to read it again. */
+    READER_FIRST_READ,
+
+    /** Scenario 3: the client has been read, the update is not issued yet. */
+    SERIALIZABLE_READ,
+
+    /** Scenario 3: the update is flushed but not committed. */
+    SERIALIZABLE_WRITTEN,
+
+    /** Scenario 4: the reader has run the name query once and is about to run it again. */
+    PHANTOM_FIRST_READ,
+
+    /** Scenario 4: the writer's insert is flushed but not committed. */
+    PHANTOM_INSERTED
+}
@@ -0,0 +1,17 @@
+package com.laithevolution.annotationlab.facade.transactional;
+
+/**
+ * Lets tests and drivers interleave concurrent transactions at the {@link IsolationCheckpoint}s of
+ * {@link TransactionalIsolationScenarios} instead of relying on sleeps.
+ * Without a coordinator bean the scenarios use {@link #NO_OP} and run straight through.
+ */
+@FunctionalInterface
+public interface IsolationCoordinator {
+
+    IsolationCoordinator NO_OP = checkpoint -> { };
+
+    /**
+     * Called on the scenario's thread, inside its transaction; returning lets the scenario continue.
+     */
+    void arrive(IsolationCheckpoint checkpoint);
+}
@@ -9,6 +9,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 @Service
 @RequiredArgsConstructor
@@ -25,9 +26,21 @@ public class TransactionalBehaviorScenarios {
         return clientService.findAll();
     }
 
+    /**
+     * Scenario 1b: READ_ONLY streaming
+     * Same read as scenario 1, but clients are handed to the consumer over a JDBC cursor
+     * in constant memory instead of being loaded into a List.
+     */
+    @Transactional(readOnly = true)
+    public long forEachClientReadOnly(Consumer<Client> consumer) {
+        return clientService.forEachClient(consumer);
+    }
+
     /**
      * Scenario 2: TIMEOUT
      * Demonstrates transaction timeout
+     * The 2 s are a deadline for everything inside: each statement gets the time left as its JDBC query timeout,
+     * and REQUIRES_NEW or @Async work started from here inherits it (see DeadlineJpaTransactionManager).
      */
     @Transactional(timeout = 2)
     public void simulateTimeoutTransaction() {
@@ -1,10 +1,13 @@
 package com.laithevolution.annotationlab.facade.transactional;
 
+import com.laithevolution.annotationlab.annotation.RetryableTransactional;
 import com.laithevolution.annotationlab.model.Client;
 import com.laithevolution.annotationlab.service.ClientService;
+import jakarta.persistence.CacheRetrieveMode;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Isolation;
 import org.springframework.transaction.annotation.Transactional;
@@ -12,6 +15,10 @@ import org.springframework.transaction.annotation.Transactional;
 import java.util.List;
 import java.util.Objects;
 
+/**
+ * Isolation-level scenarios. Where a concurrent transaction has to act, the scenario reports an
+ * {@link IsolationCheckpoint} to the {@link IsolationCoordinator}; callers decide what runs there.
+ */
 @Service
 @RequiredArgsConstructor
 public class TransactionalIsolationScenarios {
@@ -21,6 +28,9 @@ public class TransactionalIsolationScenarios {
     @PersistenceContext
     private EntityManager entityManager;
 
+    @Autowired(required = false)
+    private IsolationCoordinator coordinator = IsolationCoordinator.NO_OP;
+
     /**
      * Scenario 1: READ_COMMITTED
      * Demonstrates prevention of dirty reads.
@@ -30,15 +40,13 @@ public class TransactionalIsolationScenarios {
         Client client = clientService.findById(clientId);
         client.setName("UpdatedName-Uncommitted");
         clientService.updateClient(client);
-        try {
-            Thread.sleep(3000);
-        } catch (InterruptedException e) {
-            throw new RuntimeException(e);
-        }
+        entityManager.flush();
+        coordinator.arrive(IsolationCheckpoint.WRITER_UPDATED);
     }
 
     @Transactional(isolation = Isolation.READ_COMMITTED, readOnly = true)
     public String readClientNameDuringUncommittedUpdate(Long clientId) {
+        readFromDatabase();
         Client client = clientService.findById(clientId);
         return client.getName();
     }
@@ -59,14 +67,12 @@ public class TransactionalIsolationScenarios {
 
     @Transactional(isolation = Isolation.REPEATABLE_READ, readOnly = true)
     public String readClientTwiceWithinSameTransaction(Long clientId) {
+        readFromDatabase();
         Client firstRead = clientService.findById(clientId);
+        // otherwise the second read is served from the persistence context and never reaches the database
+        entityManager.detach(firstRead);
 
-        // Simulate external update happening in another thread
-        try {
-            Thread.sleep(2000);
-        } catch (InterruptedException e) {
-            throw new RuntimeException(e);
-        }
+        coordinator.arrive(IsolationCheckpoint.READER_FIRST_READ);
 
         Client secondRead = clientService.findById(clientId);
 
@@ -85,13 +91,27 @@ public class TransactionalIsolationScenarios {
      */
     @Transactional(isolation = Isolation.SERIALIZABLE)
     public void simulateSerializableReadWrite(Long clientId) {
+        Client client = clientService.findById(clientId);
+        coordinator.arrive(IsolationCheckpoint.SERIALIZABLE_READ);
+        client.setName(client.getName() + "-SerializableUpdate");
+        clientService.updateClient(client);
+        entityManager.flush();
+        coordinator.arrive(IsolationCheckpoint.SERIALIZABLE_WRITTEN);
+    }
+
+    /**
+     * Scenario 3b: SERIALIZABLE with retry
+     * Same read-modify-write as scenario 3, but declared with the composed @RetryableTransactional:
+     * when a concurrent writer wins, the whole transaction is re-run instead of failing the caller.
+     */
+    @RetryableTransactional(isolation = Isolation.SERIALIZABLE, maxAttempts = 5, backoffMillis = 100)
+    public void simulateSerializableReadWriteWithRetry(Long clientId, long holdMillis) {
         Client client = clientService.findById(clientId);
         client.setName(client.getName() + "-SerializableUpdate");
         clientService.updateClient(client);
 
-        // Hold the transaction open to simulate concurrency properly
         try {
-            Thread.sleep(3000);
+            Thread.sleep(holdMillis);
         } catch (InterruptedException e) {
             throw new RuntimeException(e);
         }
@@ -107,12 +127,8 @@ public class TransactionalIsolationScenarios {
         // First read: fetch all clients with a specific name pattern
         List<Client> firstRead = clientService.findByNameLike(clientName);
 
-        // Simulate a concurrent transaction inserting a new matching client
-        try {
-            Thread.sleep(2000); // allow writer to insert
-        } catch (InterruptedException e) {
-            throw new RuntimeException(e);
-        }
+        // A concurrent transaction may insert a new matching client here
+        coordinator.arrive(IsolationCheckpoint.PHANTOM_FIRST_READ);
 
         // Second read: fetch same query again
         List<Client> secondRead = clientService.findByNameLike(clientName);
@@ -121,6 +137,14 @@ public class TransactionalIsolationScenarios {
         return firstRead.size() != secondRead.size();
     }
 
+    /**
+     * Entity lookups in the current transaction skip the second-level cache, which is updated on commit
+     * and would otherwise show other transactions' changes regardless of the isolation level.
+     */
+    private void readFromDatabase() {
+        entityManager.setProperty("jakarta.persistence.cache.retrieveMode", CacheRetrieveMode.BYPASS);
+    }
+
     /**
      * Helper writer method for scenario 4
      */
@@ -131,11 +155,9 @@ public class TransactionalIsolationScenarios {
                 .email(email)
                 .build();
         clientService.createClient(newClient);
+        entityManager.flush();
 
-        try {
-            Thread.sleep(1000); // keep transaction open for reader to run
-        } catch (InterruptedException e) {
-            throw new RuntimeException(e);
-        }
+        // transaction still open: the reader may run here
+        coordinator.arrive(IsolationCheckpoint.PHANTOM_INSERTED);
     }
 }
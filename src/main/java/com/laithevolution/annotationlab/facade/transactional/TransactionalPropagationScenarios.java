@@ -8,6 +8,8 @@ import com.laithevolution.annotationlab.model.Invoice;
 import com.laithevolution.annotationlab.service.ClientService;
 import com.laithevolution.annotationlab.service.ComplianceService;
 import com.laithevolution.annotationlab.service.InvoiceService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Lazy;
@@ -15,6 +17,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.transaction.interceptor.TransactionAspectSupport;
+import org.springframework.transaction.support.TransactionSynchronization;
 import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 @Service
@@ -29,6 +32,9 @@ public class TransactionalPropagationScenarios {
     @Lazy
     private TransactionalPropagationScenarios self;
 
+    @PersistenceContext
+    private EntityManager entityManager;
+
     /**
      * Scenario 1: Parent with REQUIRED propagation invoking a Child with REQUIRED propagation.
      * Both share the same transaction. An exception in the child rolls back the entire transaction.
@@ -318,4 +324,149 @@ public class TransactionalPropagationScenarios {
 
         return childResult;
     }
-}
\ No newline at end of file
+
+    /**
+     * Scenario 5: Parent with REQUIRED propagation invoking a Child with NESTED propagation.
+     * The child runs in a JDBC savepoint of the parent's transaction, on the same connection.
+     * An exception in the child rolls back to the savepoint only; the parent continues and commits.
+     * With JPA the savepoint only covers SQL that was actually sent, so the parent flushes its pending
+     * inserts before the savepoint is taken (they would otherwise be flushed inside it and rolled back).
+     */
+    @Transactional(propagation = Propagation.REQUIRED)
+    public TransactionalScenarioResult parentWithRequiredPropagationInvokingNestedChildFailure(
+            Client client, Compliance compliance, Invoice invoice) {
+        Object parentTx = TransactionAspectSupport.currentTransactionStatus();
+
+        TransactionalResult parentResult = TransactionalResult.builder()
+                .methodName("parentWithRequiredPropagationInvokingNestedChildFailure")
+                .transactionName(TransactionSynchronizationManager.getCurrentTransactionName())
+                .activeTransaction(TransactionSynchronizationManager.isActualTransactionActive())
+                .propagation("REQUIRED")
+                .transactionObject(parentTx)
+                .rolledBack(false)
+                .build();
+
+        clientService.createClient(client);
+        compliance.setClient(client);
+        complianceService.createCompliance(compliance);
+        entityManager.flush();
+
+        TransactionalResult childResult = self.childWithNestedPropagation(client, compliance, invoice);
+        return new TransactionalScenarioResult(parentResult, childResult);
+    }
+
+    /**
+     * Child method with NESTED propagation.
+     * Flushes its insert inside the savepoint, then fails; rollback-only on a nested status rolls back to the
+     * savepoint. The rolled-back invoice is detached so the parent's commit does not see it as persistent, and
+     * evicted once the transaction completes: the savepoint rollback does not cancel the second-level cache put
+     * Hibernate queued when the insert was flushed.
+     */
+    @Transactional(propagation = Propagation.NESTED)
+    public TransactionalResult childWithNestedPropagation(
+            Client client, Compliance compliance, Invoice invoice) {
+        Object childTx = TransactionAspectSupport.currentTransactionStatus();
+
+        TransactionalResult childResult;
+        try {
+            invoice.setCompliance(compliance);
+            invoiceService.createInvoice(invoice);
+            entityManager.flush();
+
+            throw new RuntimeException("Child NESTED forced rollback");
+
+        } catch (RuntimeException e) {
+            TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
+            entityManager.detach(invoice);
+            evictAfterCompletion(invoice.getId());
+
+            childResult = TransactionalResult.builder()
+                    .methodName("childWithNestedPropagation")
+                    .transactionName(TransactionSynchronizationManager.getCurrentTransactionName())
+                    .activeTransaction(TransactionSynchronizationManager.isActualTransactionActive())
+                    .propagation("NESTED")
+                    .transactionObject(childTx)
+                    .rolledBack(true)
+                    .build();
+        }
+
+        return childResult;
+    }
+
+    /**
+     * Scenario 5b: Parent with REQUIRED propagation invoking a Child with NESTED propagation that succeeds.
+     * Releasing the savepoint keeps the child's insert in the parent's transaction, and the parent's commit
+     * makes all three rows durable, with one connection and one physical transaction throughout.
+     */
+    @Transactional(propagation = Propagation.REQUIRED)
+    public TransactionalScenarioResult parentWithRequiredPropagationInvokingNestedChildSuccess(
+            Client client, Compliance compliance, Invoice invoice) {
+        Object parentTx = TransactionAspectSupport.currentTransactionStatus();
+
+        TransactionalResult parentResult = TransactionalResult.builder()
+                .methodName("parentWithRequiredPropagationInvokingNestedChildSuccess")
+                .transactionName(TransactionSynchronizationManager.getCurrentTransactionName())
+                .activeTransaction(TransactionSynchronizationManager.isActualTransactionActive())
+                .propagation("REQUIRED")
+                .transactionObject(parentTx)
+                .rolledBack(false)
+                .build();
+
+        clientService.createClient(client);
+        compliance.setClient(client);
+        complianceService.createCompliance(compliance);
+        entityManager.flush();
+
+        TransactionalResult childResult = self.childWithNestedPropagationSuccess(compliance, invoice);
+        return new TransactionalScenarioResult(parentResult, childResult);
+    }
+
+    /**
+     * Scenario 5c: Parent with REQUIRED propagation failing after a NESTED child succeeded.
+     * A released savepoint is not a commit: the child's insert belongs to the parent's transaction and
+     * is rolled back with it.
+     */
+    @Transactional(propagation = Propagation.REQUIRED)
+    public TransactionalScenarioResult parentWithRequiredPropagationFailingAfterNestedChildSuccess(
+            Client client, Compliance compliance, Invoice invoice) {
+        clientService.createClient(client);
+        compliance.setClient(client);
+        complianceService.createCompliance(compliance);
+        entityManager.flush();
+
+        self.childWithNestedPropagationSuccess(compliance, invoice);
+
+        throw new RuntimeException("Parent REQUIRED forced rollback after NESTED child succeeded");
+    }
+
+    /**
+     * Child method with NESTED propagation that succeeds.
+     * Flushes its insert inside the savepoint; returning normally releases the savepoint.
+     */
+    @Transactional(propagation = Propagation.NESTED)
+    public TransactionalResult childWithNestedPropagationSuccess(Compliance compliance, Invoice invoice) {
+        Object childTx = TransactionAspectSupport.currentTransactionStatus();
+
+        invoice.setCompliance(compliance);
+        invoiceService.createInvoice(invoice);
+        entityManager.flush();
+
+        return TransactionalResult.builder()
+                .methodName("childWithNestedPropagationSuccess")
+                .transactionName(TransactionSynchronizationManager.getCurrentTransactionName())
+                .activeTransaction(TransactionSynchronizationManager.isActualTransactionActive())
+                .propagation("NESTED")
+                .transactionObject(childTx)
+                .rolledBack(false)
+                .build();
+    }
+
+    private void evictAfterCompletion(Long invoiceId) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                entityManager.getEntityManagerFactory().getCache().evict(Invoice.class, invoiceId);
+            }
+        });
+    }
+}
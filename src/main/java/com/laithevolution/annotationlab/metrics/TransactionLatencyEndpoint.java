@@ -0,0 +1,32 @@
+package com.laithevolution.annotationlab.metrics;
+
+import com.laithevolution.annotationlab.dto.TransactionLatencyStats;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * {@code /actuator/transactions}: latency histograms and counters per transactional facade method.
+ * DELETE clears them.
+ */
+@Component
+@Endpoint(id = "transactions")
+@RequiredArgsConstructor
+public class TransactionLatencyEndpoint {
+
+    private final TransactionLatencyRecorder recorder;
+
+    @ReadOperation
+    public List<TransactionLatencyStats> transactions() {
+        return recorder.snapshot();
+    }
+
+    @DeleteOperation
+    public void reset() {
+        recorder.reset();
+    }
+}
@@ -0,0 +1,307 @@
+package com.laithevolution.annotationlab.metrics;
+
+import com.laithevolution.annotationlab.dto.LatencySummary;
+import com.laithevolution.annotationlab.dto.TransactionLatencyStats;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import org.hibernate.Session;
+import org.hibernate.SessionEventListener;
+import org.springframework.core.Ordered;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionExecution;
+import org.springframework.transaction.TransactionExecutionListener;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayDeque;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-method latency histograms of the transactional facades, split into begin, body, flush and commit/rollback.
+ * <p>
+ * {@link com.laithevolution.annotationlab.aop.TransactionLatencyAspect} opens an {@link Invocation} around the
+ * transaction interceptor. When the transaction manager starts a physical transaction (or savepoint) for it,
+ * {@link #afterBegin} marks the end of the begin phase and registers a {@link TransactionSynchronization} that
+ * timestamps the rest of the lifecycle and counts suspend/resume of that transaction, plus a Hibernate
+ * {@link SessionEventListener} that timestamps the end of the flush the provider performs at commit.
+ * Nothing is flushed on the recorder's behalf, so measuring does not move flushes or the exceptions they raise.
+ * Invocations that only join an outer transaction record their body time alone.
+ * <p>
+ * Histograms are HdrHistogram {@link Recorder}s: recording is wait-free, readers swap out the interval
+ * histogram and fold it into a cumulative one.
+ */
+@Component
+@RequiredArgsConstructor
+public class TransactionLatencyRecorder implements TransactionExecutionListener {
+
+    public enum Phase { BEGIN, BODY, FLUSH, COMMIT, ROLLBACK, TOTAL }
+
+    enum Kind { PHYSICAL, JOINED, SAVEPOINT, NONE }
+
+    private static final int SIGNIFICANT_DIGITS = 3;
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    private final ThreadLocal<Deque<Invocation>> inFlight = ThreadLocal.withInitial(ArrayDeque::new);
+    private final ConcurrentMap<String, MethodStats> stats = new ConcurrentHashMap<>();
+
+    public Invocation start(String transactionName, Propagation propagation) {
+        MethodStats methodStats = stats.computeIfAbsent(transactionName + '|' + propagation,
+                key -> new MethodStats(transactionName, propagation));
+        boolean outerActive = TransactionSynchronizationManager.isActualTransactionActive();
+        Kind kind = outerActive && joinsOuter(propagation) ? Kind.JOINED : Kind.NONE;
+        Invocation invocation = new Invocation(methodStats, kind, System.nanoTime());
+        inFlight.get().push(invocation);
+        return invocation;
+    }
+
+    public void finish(Invocation invocation) {
+        long end = System.nanoTime();
+        Deque<Invocation> stack = inFlight.get();
+        stack.remove(invocation);
+        if (stack.isEmpty()) {
+            inFlight.remove();
+        }
+        invocation.record(end);
+    }
+
+    @Override
+    public void afterBegin(TransactionExecution transaction, Throwable beginFailure) {
+        Invocation invocation = inFlight.get().peek();
+        if (beginFailure != null || invocation == null || invocation.bodyStart != 0
+                || !invocation.stats.transactionName.equals(transaction.getTransactionName())) {
+            return;
+        }
+        invocation.bodyStart = System.nanoTime();
+        if (transaction.isNewTransaction()) {
+            invocation.kind = Kind.PHYSICAL;
+            TransactionSynchronizationManager.registerSynchronization(new PhaseSynchronization(invocation));
+            EntityManagerHolder holder =
+                    (EntityManagerHolder) TransactionSynchronizationManager.getResource(entityManagerFactory);
+            if (holder != null) {
+                holder.getEntityManager().unwrap(Session.class).addEventListeners(new CommitFlushListener(invocation));
+            }
+        } else if (transaction.isNested()) {
+            invocation.kind = Kind.SAVEPOINT;
+        }
+    }
+
+    public List<TransactionLatencyStats> snapshot() {
+        return stats.values().stream()
+                .sorted(Comparator.comparing((MethodStats s) -> s.transactionName)
+                        .thenComparing(s -> s.propagation))
+                .map(MethodStats::toStats)
+                .toList();
+    }
+
+    public void reset() {
+        stats.clear();
+    }
+
+    private static boolean joinsOuter(Propagation propagation) {
+        return propagation == Propagation.REQUIRED
+                || propagation == Propagation.SUPPORTS
+                || propagation == Propagation.MANDATORY;
+    }
+
+    /**
+     * Timestamps of one facade call; only touched by the thread that runs it.
+     */
+    public static final class Invocation {
+        private final MethodStats stats;
+        private final long start;
+        private Kind kind;
+        private long bodyStart;
+        private long bodyEnd;
+        private long flushEnd;
+        private long completionEnd;
+        private boolean committed;
+
+        private Invocation(MethodStats stats, Kind kind, long start) {
+            this.stats = stats;
+            this.kind = kind;
+            this.start = start;
+        }
+
+        private void record(long end) {
+            stats.count(kind);
+            stats.record(Phase.TOTAL, end - start);
+            if (kind != Kind.PHYSICAL) {
+                long bodyFrom = bodyStart != 0 ? bodyStart : start;
+                if (bodyStart != 0) {
+                    stats.record(Phase.BEGIN, bodyStart - start);
+                }
+                stats.record(Phase.BODY, end - bodyFrom);
+                return;
+            }
+            stats.record(Phase.BEGIN, bodyStart - start);
+            if (bodyEnd != 0) {
+                stats.record(Phase.BODY, bodyEnd - bodyStart);
+            }
+            if (flushEnd != 0) {
+                stats.record(Phase.FLUSH, flushEnd - bodyEnd);
+            }
+            if (completionEnd != 0) {
+                long completionStart = Math.max(flushEnd, bodyEnd);
+                stats.record(committed ? Phase.COMMIT : Phase.ROLLBACK, completionEnd - completionStart);
+                (committed ? stats.commits : stats.rollbacks).increment();
+            }
+        }
+    }
+
+    /**
+     * Registered on the physical transaction of an invocation. {@code beforeCommit} runs after every other
+     * synchronization and ends the body phase; the flush phase runs from there to the end of the provider's
+     * commit-time flush, if it had anything to flush.
+     */
+    private final class PhaseSynchronization implements TransactionSynchronization {
+
+        private final Invocation invocation;
+
+        private PhaseSynchronization(Invocation invocation) {
+            this.invocation = invocation;
+        }
+
+        @Override
+        public int getOrder() {
+            return Ordered.LOWEST_PRECEDENCE;
+        }
+
+        @Override
+        public void suspend() {
+            invocation.stats.suspends.increment();
+        }
+
+        @Override
+        public void resume() {
+            invocation.stats.resumes.increment();
+        }
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            invocation.bodyEnd = System.nanoTime();
+        }
+
+        @Override
+        public void beforeCompletion() {
+            if (invocation.bodyEnd == 0) {
+                invocation.bodyEnd = System.nanoTime();
+            }
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            invocation.completionEnd = System.nanoTime();
+            invocation.committed = status == STATUS_COMMITTED;
+        }
+    }
+
+    /**
+     * Stays on the session for its lifetime; only the first flush ending between the body and completion of the
+     * invocation's transaction counts, auto-flushes inside the body are part of the body.
+     */
+    private static final class CommitFlushListener implements SessionEventListener {
+
+        private final Invocation invocation;
+
+        private CommitFlushListener(Invocation invocation) {
+            this.invocation = invocation;
+        }
+
+        @Override
+        public void flushEnd(int numberOfEntities, int numberOfCollections) {
+            if (invocation.bodyEnd != 0 && invocation.flushEnd == 0 && invocation.completionEnd == 0) {
+                invocation.flushEnd = System.nanoTime();
+            }
+        }
+    }
+
+    private static final class MethodStats {
+        private final String transactionName;
+        private final Propagation propagation;
+        private final Map<Phase, PhaseHistogram> phases = new EnumMap<>(Phase.class);
+        private final Map<Kind, LongAdder> kinds = new EnumMap<>(Kind.class);
+        private final LongAdder commits = new LongAdder();
+        private final LongAdder rollbacks = new LongAdder();
+        private final LongAdder suspends = new LongAdder();
+        private final LongAdder resumes = new LongAdder();
+
+        private MethodStats(String transactionName, Propagation propagation) {
+            this.transactionName = transactionName;
+            this.propagation = propagation;
+            for (Phase phase : Phase.values()) {
+                phases.put(phase, new PhaseHistogram());
+            }
+            for (Kind kind : Kind.values()) {
+                kinds.put(kind, new LongAdder());
+            }
+        }
+
+        private void record(Phase phase, long nanos) {
+            phases.get(phase).recorder.recordValue(Math.max(0, nanos));
+        }
+
+        private void count(Kind kind) {
+            kinds.get(kind).increment();
+        }
+
+        private TransactionLatencyStats toStats() {
+            Map<String, LatencySummary> summaries = new LinkedHashMap<>();
+            phases.forEach((phase, histogram) -> {
+                Histogram cumulative = histogram.snapshot();
+                if (cumulative.getTotalCount() > 0) {
+                    summaries.put(phase.name().toLowerCase(Locale.ROOT), summarize(cumulative));
+                }
+            });
+            return TransactionLatencyStats.builder()
+                    .transactionName(transactionName)
+                    .propagation(propagation.name())
+                    .physical(kinds.get(Kind.PHYSICAL).sum())
+                    .joined(kinds.get(Kind.JOINED).sum())
+                    .savepoints(kinds.get(Kind.SAVEPOINT).sum())
+                    .nonTransactional(kinds.get(Kind.NONE).sum())
+                    .commits(commits.sum())
+                    .rollbacks(rollbacks.sum())
+                    .suspends(suspends.sum())
+                    .resumes(resumes.sum())
+                    .phases(summaries)
+                    .build();
+        }
+
+        private static LatencySummary summarize(Histogram histogram) {
+            return LatencySummary.builder()
+                    .count(histogram.getTotalCount())
+                    .meanMicros(histogram.getMean() / 1_000d)
+                    .p50Micros(histogram.getValueAtPercentile(50) / 1_000d)
+                    .p90Micros(histogram.getValueAtPercentile(90) / 1_000d)
+                    .p99Micros(histogram.getValueAtPercentile(99) / 1_000d)
+                    .maxMicros(histogram.getMaxValue() / 1_000d)
+                    .build();
+        }
+    }
+
+    private static final class PhaseHistogram {
+        private final Recorder recorder = new Recorder(SIGNIFICANT_DIGITS);
+        private final Histogram cumulative = new Histogram(SIGNIFICANT_DIGITS);
+        private Histogram interval;
+
+        private synchronized Histogram snapshot() {
+            interval = recorder.getIntervalHistogram(interval);
+            cumulative.add(interval);
+            return cumulative.copy();
+        }
+    }
+}
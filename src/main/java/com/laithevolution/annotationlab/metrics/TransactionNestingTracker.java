@@ -0,0 +1,65 @@
+package com.laithevolution.annotationlab.metrics;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionExecution;
+import org.springframework.transaction.TransactionExecutionListener;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Counts, per thread, how many transactions are currently suspended underneath the running one
+ * (REQUIRES_NEW / NOT_SUPPORTED inside an active transaction). Each suspended transaction keeps its connection.
+ */
+@Component
+public class TransactionNestingTracker implements TransactionExecutionListener {
+
+    private final ThreadLocal<int[]> suspendedDepth = ThreadLocal.withInitial(() -> new int[1]);
+    private final AtomicInteger maxSuspendedDepth = new AtomicInteger();
+
+    public int currentSuspendedDepth() {
+        return suspendedDepth.get()[0];
+    }
+
+    public int maxSuspendedDepth() {
+        return maxSuspendedDepth.get();
+    }
+
+    @Override
+    public void beforeBegin(TransactionExecution transaction) {
+        if (suspendsOuter(transaction)) {
+            int depth = ++suspendedDepth.get()[0];
+            maxSuspendedDepth.accumulateAndGet(depth, Math::max);
+        }
+    }
+
+    @Override
+    public void afterBegin(TransactionExecution transaction, Throwable beginFailure) {
+        if (beginFailure != null) {
+            leave(transaction);
+        }
+    }
+
+    @Override
+    public void afterCommit(TransactionExecution transaction, Throwable commitFailure) {
+        leave(transaction);
+    }
+
+    @Override
+    public void afterRollback(TransactionExecution transaction, Throwable rollbackFailure) {
+        leave(transaction);
+    }
+
+    private void leave(TransactionExecution transaction) {
+        if (suspendsOuter(transaction)) {
+            int[] depth = suspendedDepth.get();
+            if (depth[0] > 0 && --depth[0] == 0) {
+                suspendedDepth.remove();
+            }
+        }
+    }
+
+    private static boolean suspendsOuter(TransactionExecution transaction) {
+        return transaction instanceof DefaultTransactionStatus status && status.getSuspendedResources() != null;
+    }
+}
@@ -1,12 +1,16 @@
 package com.laithevolution.annotationlab.model;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import lombok.*;
 
 import java.util.List;
 
 @Entity
-@Table(name = "clients")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "clients")
+@Table(name = "clients", indexes = @Index(name = "idx_clients_name_id", columnList = "name, id"))
 @Getter
 @Setter
 @NoArgsConstructor
@@ -15,8 +19,11 @@ import java.util.List;
 @ToString
 public class Client {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "client_seq")
+    @SequenceGenerator(name = "client_seq", sequenceName = "clients_seq", allocationSize = 50)
     private Long id;
+    @Version
+    private Long version;
     private String name;
     private String email;
     @OneToMany(mappedBy = "client", cascade = CascadeType.ALL, orphanRemoval = true)
@@ -1,9 +1,13 @@
 package com.laithevolution.annotationlab.model;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import lombok.*;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "compliances")
 @Table(name = "compliances")
 @Getter
 @Setter
@@ -12,8 +16,11 @@ import lombok.*;
 @Builder
 public class Compliance {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "compliance_seq")
+    @SequenceGenerator(name = "compliance_seq", sequenceName = "compliances_seq", allocationSize = 50)
     private Long id;
+    @Version
+    private Long version;
     private String description;
     private String status;
     @ManyToOne(fetch = FetchType.LAZY)
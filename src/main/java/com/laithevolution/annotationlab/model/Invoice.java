@@ -2,8 +2,12 @@ package com.laithevolution.annotationlab.model;
 
 import lombok.AllArgsConstructor;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import lombok.*;
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "invoices")
 @Table(name = "invoices")
 @Getter
 @Setter
@@ -12,8 +16,11 @@ import lombok.*;
 @Builder
 public class Invoice {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "invoice_seq")
+    @SequenceGenerator(name = "invoice_seq", sequenceName = "invoices_seq", allocationSize = 50)
     private Long id;
+    @Version
+    private Long version;
     private Double amount;
     private String status;
     @OneToOne(fetch = FetchType.LAZY)
@@ -1,12 +1,95 @@
 package com.laithevolution.annotationlab.reposotory;
 
+import com.laithevolution.annotationlab.dto.ClientSummary;
+import com.laithevolution.annotationlab.dto.KeysetPage;
 import com.laithevolution.annotationlab.model.Client;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
 
 @Repository
 public interface ClientRepository extends JpaRepository<Client, Long> {
     List<Client> findByNameContaining(String clientName);
+
+    /**
+     * Loads clients, their compliances and the compliances' invoices in one joined SELECT,
+     * instead of one query per compliance when walking the associations lazily.
+     */
+    @EntityGraph(attributePaths = {"compliances", "compliances.invoice"})
+    @Query("select c from Client c where c.id in :ids")
+    List<Client> findAggregatesByIdIn(@Param("ids") Collection<Long> ids);
+
+    /*
+     * Record projections: columns are selected straight into immutable records, skipping entity hydration,
+     * dirty-checking snapshots and persistence-context bookkeeping.
+     */
+
+    @Query("select new com.laithevolution.annotationlab.dto.ClientSummary(c.id, c.name, c.email) from Client c where c.id = :id")
+    Optional<ClientSummary> findSummaryById(@Param("id") Long id);
+
+    @Query("select new com.laithevolution.annotationlab.dto.ClientSummary(c.id, c.name, c.email) from Client c order by c.id")
+    List<ClientSummary> findAllSummaries();
+
+    /*
+     * Keyset (seek) pagination: each page starts right after the last key of the previous one,
+     * so the database seeks the index instead of counting past OFFSET rows and deep pages cost the same as the first.
+     */
+
+    @Query("select c from Client c where c.id > :afterId order by c.id")
+    List<Client> findAfterId(@Param("afterId") long afterId, Limit limit);
+
+    @Query("select c from Client c where c.name is not null order by c.name, c.id")
+    List<Client> findFirstPageByName(Limit limit);
+
+    @Query("select c from Client c where (c.name, c.id) > (:afterName, :afterId) order by c.name, c.id")
+    List<Client> findAfterNameAndId(@Param("afterName") String afterName, @Param("afterId") long afterId, Limit limit);
+
+    /**
+     * Pages clients ordered by id. Pass {@code null} for the first page, then the previous page's token.
+     */
+    default KeysetPage<Client> findPageById(String continuationToken, int pageSize) {
+        requireValidPageSize(pageSize);
+        long afterId = continuationToken == null ? Long.MIN_VALUE
+                : KeysetTokens.decodeId(continuationToken, KeysetTokens.BY_ID);
+        List<Client> rows = findAfterId(afterId, Limit.of(pageSize + 1));
+        return toPage(rows, pageSize, last -> KeysetTokens.encode(KeysetTokens.BY_ID, null, last.getId()));
+    }
+
+    /**
+     * Pages clients ordered by (name, id); id breaks ties between equal names. Clients without a name are skipped.
+     */
+    default KeysetPage<Client> findPageByName(String continuationToken, int pageSize) {
+        requireValidPageSize(pageSize);
+        List<Client> rows = continuationToken == null
+                ? findFirstPageByName(Limit.of(pageSize + 1))
+                : findAfterNameAndId(KeysetTokens.decodeName(continuationToken, KeysetTokens.BY_NAME),
+                        KeysetTokens.decodeId(continuationToken, KeysetTokens.BY_NAME),
+                        Limit.of(pageSize + 1));
+        return toPage(rows, pageSize, last -> KeysetTokens.encode(KeysetTokens.BY_NAME, last.getName(), last.getId()));
+    }
+
+    private static void requireValidPageSize(int pageSize) {
+        // one extra row is fetched to detect a next page, so the size must leave room for it
+        if (pageSize <= 0 || pageSize == Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("pageSize must be between 1 and " + (Integer.MAX_VALUE - 1)
+                    + ", was " + pageSize);
+        }
+    }
+
+    private static KeysetPage<Client> toPage(List<Client> rows, int pageSize,
+                                             Function<Client, String> tokenOf) {
+        if (rows.size() <= pageSize) {
+            return new KeysetPage<>(rows, null);
+        }
+        List<Client> content = rows.subList(0, pageSize);
+        return new KeysetPage<>(content, tokenOf.apply(content.get(pageSize - 1)));
+    }
 }
@@ -1,9 +1,23 @@
 package com.laithevolution.annotationlab.reposotory;
 
+import com.laithevolution.annotationlab.dto.ComplianceSummary;
 import com.laithevolution.annotationlab.model.Compliance;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+import java.util.Optional;
+
 @Repository
 public interface ComplianceRepository extends JpaRepository<Compliance, Long> {
+
+    @Query("select new com.laithevolution.annotationlab.dto.ComplianceSummary(cp.id, cp.description, cp.status, cp.client.id) "
+            + "from Compliance cp where cp.id = :id")
+    Optional<ComplianceSummary> findSummaryById(@Param("id") Long id);
+
+    @Query("select new com.laithevolution.annotationlab.dto.ComplianceSummary(cp.id, cp.description, cp.status, cp.client.id) "
+            + "from Compliance cp where cp.client.id = :clientId order by cp.id")
+    List<ComplianceSummary> findSummariesByClientId(@Param("clientId") Long clientId);
 }
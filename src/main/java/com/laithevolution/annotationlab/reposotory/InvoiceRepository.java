@@ -1,9 +1,22 @@
 package com.laithevolution.annotationlab.reposotory;
 
+import com.laithevolution.annotationlab.dto.InvoiceSummary;
 import com.laithevolution.annotationlab.model.Invoice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Optional;
+
 @Repository
 public interface InvoiceRepository extends JpaRepository<Invoice, Long> {
+
+    @Query("select new com.laithevolution.annotationlab.dto.InvoiceSummary(i.id, i.amount, i.status, i.compliance.id) "
+            + "from Invoice i where i.id = :id")
+    Optional<InvoiceSummary> findSummaryById(@Param("id") Long id);
+
+    @Query("select new com.laithevolution.annotationlab.dto.InvoiceSummary(i.id, i.amount, i.status, i.compliance.id) "
+            + "from Invoice i where i.compliance.id = :complianceId")
+    Optional<InvoiceSummary> findSummaryByComplianceId(@Param("complianceId") Long complianceId);
 }
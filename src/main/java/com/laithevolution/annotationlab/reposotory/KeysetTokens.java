@@ -0,0 +1,48 @@
+package com.laithevolution.annotationlab.reposotory;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Encodes the last seen key of a keyset page as an opaque, URL-safe continuation token.
+ * The key kind is part of the token, so an (id) token cannot be replayed against a (name, id) scan.
+ */
+final class KeysetTokens {
+
+    static final String BY_ID = "id";
+    static final String BY_NAME = "name";
+
+    private static final char SEPARATOR = '|';
+
+    private KeysetTokens() {
+    }
+
+    static String encode(String kind, String name, long id) {
+        String raw = name == null ? kind + SEPARATOR + id : kind + SEPARATOR + name + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static long decodeId(String token, String kind) {
+        String raw = decode(token, kind);
+        return Long.parseLong(raw.substring(raw.lastIndexOf(SEPARATOR) + 1));
+    }
+
+    static String decodeName(String token, String kind) {
+        String raw = decode(token, kind);
+        return raw.substring(kind.length() + 1, raw.lastIndexOf(SEPARATOR));
+    }
+
+    private static String decode(String token, String kind) {
+        String raw;
+        try {
+            raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Malformed continuation token", e);
+        }
+        boolean hasName = raw.indexOf(SEPARATOR) != raw.lastIndexOf(SEPARATOR);
+        if (!raw.startsWith(kind + SEPARATOR) || hasName != BY_NAME.equals(kind)) {
+            throw new IllegalArgumentException("Continuation token is not a '" + kind + "' token");
+        }
+        return raw;
+    }
+}
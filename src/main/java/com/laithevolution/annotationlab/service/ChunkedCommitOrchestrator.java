@@ -0,0 +1,129 @@
+package com.laithevolution.annotationlab.service;
+
+import com.laithevolution.annotationlab.dto.ChunkCommitResult;
+import com.laithevolution.annotationlab.dto.ChunkedCommitReport;
+import com.laithevolution.annotationlab.model.Client;
+import com.laithevolution.annotationlab.model.Compliance;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Splits a large Client -> Compliance -> Invoice load into chunks and commits every chunk
+ * in its own REQUIRES_NEW transaction on {@code chunkCommitExecutor}.
+ * A failing chunk only rolls back itself; the report keeps it so it can be retried alone.
+ */
+@Service
+@RequiredArgsConstructor
+public class ChunkedCommitOrchestrator {
+
+    private final ClientService clientService;
+
+    @Lazy
+    @Autowired
+    private ChunkedCommitOrchestrator self;
+
+    public ChunkedCommitReport commitInChunks(List<Client> clients, int chunkSize) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("chunkSize must be positive");
+        }
+        List<ChunkCommitResult> chunks = new ArrayList<>();
+        for (int from = 0, index = 0; from < clients.size(); from += chunkSize, index++) {
+            List<Client> slice = clients.subList(from, Math.min(clients.size(), from + chunkSize));
+            chunks.add(ChunkCommitResult.builder()
+                    .chunkIndex(index)
+                    .size(slice.size())
+                    .clients(slice)
+                    .build());
+        }
+        return commit(chunks);
+    }
+
+    /**
+     * Re-submits only the chunks that did not commit; committed chunks are carried over untouched.
+     */
+    public ChunkedCommitReport retryFailedChunks(ChunkedCommitReport report) {
+        return commit(report.getChunks());
+    }
+
+    /**
+     * One physical transaction per chunk, on a pool thread (or on the caller when the pool is saturated).
+     */
+    @Async("chunkCommitExecutor")
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public CompletableFuture<String> commitChunk(List<Client> chunk) {
+        clientService.createClients(chunk);
+        return CompletableFuture.completedFuture(Thread.currentThread().getName());
+    }
+
+    private ChunkedCommitReport commit(List<ChunkCommitResult> chunks) {
+        List<CompletableFuture<ChunkCommitResult>> futures = new ArrayList<>();
+        for (ChunkCommitResult chunk : chunks) {
+            if (chunk.isCommitted()) {
+                futures.add(CompletableFuture.completedFuture(chunk));
+                continue;
+            }
+            futures.add(submit(chunk).handle((threadName, failure) -> {
+                chunk.setAttempts(chunk.getAttempts() + 1);
+                chunk.setThreadName(threadName);
+                chunk.setCommitted(failure == null);
+                chunk.setException(failure == null ? null : unwrap(failure));
+                if (failure != null) {
+                    resetGeneratedIds(chunk.getClients());
+                }
+                return chunk;
+            }));
+        }
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+        return new ChunkedCommitReport(futures.stream()
+                .map(CompletableFuture::join)
+                .toList());
+    }
+
+    private CompletableFuture<String> submit(ChunkCommitResult chunk) {
+        try {
+            return self.commitChunk(chunk.getClients());
+        } catch (RuntimeException e) {
+            // a shut-down executor rejects synchronously instead of failing the future
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private static Exception unwrap(Throwable failure) {
+        Throwable cause = failure instanceof CompletionException && failure.getCause() != null
+                ? failure.getCause() : failure;
+        return cause instanceof Exception e ? e : new RuntimeException(cause);
+    }
+
+    /**
+     * Sequence ids and initial versions are assigned at persist time and survive a rollback;
+     * clear them so a retry inserts again.
+     */
+    private static void resetGeneratedIds(List<Client> clients) {
+        for (Client client : clients) {
+            client.setId(null);
+            client.setVersion(null);
+            if (client.getCompliances() == null) {
+                continue;
+            }
+            for (Compliance compliance : client.getCompliances()) {
+                compliance.setId(null);
+                compliance.setVersion(null);
+                if (Objects.nonNull(compliance.getInvoice())) {
+                    compliance.getInvoice().setId(null);
+                    compliance.getInvoice().setVersion(null);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,199 @@
+package com.laithevolution.annotationlab.service;
+
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory trigram inverted index over client names, used instead of {@code LIKE '%x%'} scans.
+ * Every name is split into overlapping 3-character grams; each gram maps to a posting list of internal doc ids.
+ * A search walks the shortest posting list of the fragment's grams and verifies each candidate with
+ * {@link String#contains}, so results match the case-sensitive LIKE semantics exactly.
+ * Updates and deletes tombstone the old doc; postings are compacted once half of them are dead.
+ */
+@Component
+public class ClientNameIndex {
+
+    public static final int GRAM_LENGTH = 3;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Postings> postings = new HashMap<>();
+    private final Map<Long, Integer> docByClientId = new HashMap<>();
+    private long[] clientIds = new long[1024];
+    private String[] names = new String[1024];
+    private int docCount;
+    private int deadDocs;
+    private volatile boolean ready;
+
+    /**
+     * Indexes or re-indexes a client name.
+     */
+    public void put(Long clientId, String name) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(clientId);
+            compactIfMostlyDeadLocked();
+            addLocked(clientId, name);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Warm-up variant of {@link #put}: never overwrites a name written by a concurrent commit.
+     */
+    public void putIfAbsent(Long clientId, String name) {
+        lock.writeLock().lock();
+        try {
+            if (!docByClientId.containsKey(clientId)) {
+                addLocked(clientId, name);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long clientId) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(clientId);
+            compactIfMostlyDeadLocked();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns ids of clients whose name contains {@code fragment}, or empty when the index cannot answer
+     * (not warmed up yet, or the fragment is shorter than a gram) and the caller has to query the database.
+     */
+    public Optional<List<Long>> search(String fragment) {
+        if (!ready || fragment == null || fragment.length() < GRAM_LENGTH) {
+            return Optional.empty();
+        }
+        lock.readLock().lock();
+        try {
+            Postings shortest = null;
+            for (int i = 0; i + GRAM_LENGTH <= fragment.length(); i++) {
+                Postings candidate = postings.get(fragment.substring(i, i + GRAM_LENGTH));
+                if (candidate == null) {
+                    return Optional.of(List.of());
+                }
+                if (shortest == null || candidate.size < shortest.size) {
+                    shortest = candidate;
+                }
+            }
+            List<Long> matches = new ArrayList<>();
+            for (int i = 0; i < shortest.size; i++) {
+                int doc = shortest.docs[i];
+                String name = names[doc];
+                if (name != null && name.contains(fragment)) {
+                    matches.add(clientIds[doc]);
+                }
+            }
+            return Optional.of(matches);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void markReady() {
+        this.ready = true;
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return docByClientId.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Docs stored including tombstones; what the arrays and postings actually hold.
+     */
+    int storedDocs() {
+        lock.readLock().lock();
+        try {
+            return docCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void addLocked(Long clientId, String name) {
+        if (clientId == null || name == null) {
+            return;
+        }
+        if (docCount == names.length) {
+            clientIds = Arrays.copyOf(clientIds, docCount * 2);
+            names = Arrays.copyOf(names, docCount * 2);
+        }
+        int doc = docCount++;
+        clientIds[doc] = clientId;
+        names[doc] = name;
+        docByClientId.put(clientId, doc);
+        for (int i = 0; i + GRAM_LENGTH <= name.length(); i++) {
+            Postings list = postings.computeIfAbsent(name.substring(i, i + GRAM_LENGTH), gram -> new Postings());
+            // a gram repeated inside one name would otherwise add the same doc twice in a row
+            if (list.size == 0 || list.docs[list.size - 1] != doc) {
+                list.add(doc);
+            }
+        }
+    }
+
+    private void removeLocked(Long clientId) {
+        Integer doc = docByClientId.remove(clientId);
+        if (doc != null) {
+            names[doc] = null;
+            deadDocs++;
+        }
+    }
+
+    private void compactIfMostlyDeadLocked() {
+        if (deadDocs > 1024 && deadDocs * 2 > docCount) {
+            compactLocked();
+        }
+    }
+
+    private void compactLocked() {
+        long[] oldIds = clientIds;
+        String[] oldNames = names;
+        int oldCount = docCount;
+        postings.clear();
+        docByClientId.clear();
+        clientIds = new long[Math.max(1024, oldCount - deadDocs)];
+        names = new String[clientIds.length];
+        docCount = 0;
+        deadDocs = 0;
+        for (int doc = 0; doc < oldCount; doc++) {
+            if (oldNames[doc] != null) {
+                addLocked(oldIds[doc], oldNames[doc]);
+            }
+        }
+    }
+
+    private static final class Postings {
+        private int[] docs = new int[4];
+        private int size;
+
+        private void add(int doc) {
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+            }
+            docs[size++] = doc;
+        }
+    }
+}
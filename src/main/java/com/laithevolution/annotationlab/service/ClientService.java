@@ -1,28 +1,92 @@
 package com.laithevolution.annotationlab.service;
 
+import com.laithevolution.annotationlab.dto.ClientAggregate;
+import com.laithevolution.annotationlab.dto.ClientSummary;
+import com.laithevolution.annotationlab.dto.KeysetPage;
 import com.laithevolution.annotationlab.model.Client;
+import com.laithevolution.annotationlab.model.Invoice;
 import com.laithevolution.annotationlab.reposotory.ClientRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.OptimisticLockException;
+import jakarta.persistence.PersistenceContext;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.NoSuchElementException;
 import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 public class ClientService {
 
     private final ClientRepository clientRepository;
+    private final BatchPersister batchPersister;
+    private final ClientNameIndex clientNameIndex;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${annotationlab.client.stream.fetch-size:500}")
+    private int streamFetchSize;
+
+    @Value("${annotationlab.client.stream.detach-interval:500}")
+    private int streamDetachInterval;
+
+    @Value("${annotationlab.client.update.max-attempts:10}")
+    private int updateMaxAttempts;
+
+    @Lazy
+    @Autowired
+    private ClientService self;
 
     @Transactional
     public Client createClient(Client client) {
-        return clientRepository.save(client);
+        Client saved = clientRepository.save(client);
+        afterCommit(() -> clientNameIndex.put(saved.getId(), saved.getName()));
+        return saved;
+    }
+
+    /**
+     * Bulk insert: new clients (and their cascaded compliances/invoices) are written
+     * with batched JDBC inserts instead of one round trip per row.
+     */
+    @Transactional
+    public List<Client> createClients(List<Client> clients) {
+        List<Client> saved = batchPersister.persistAll(clients);
+        afterCommit(() -> saved.forEach(c -> clientNameIndex.put(c.getId(), c.getName())));
+        return saved;
     }
 
     @Transactional
     public void deleteClient(Long id) {
         clientRepository.deleteById(id);
+        afterCommit(() -> {
+            clientNameIndex.remove(id);
+            evictFromEntityCache(id);
+        });
     }
 
     public Optional<Client> getClient(Long id) {
@@ -33,15 +97,215 @@ public class ClientService {
         return getClient(clientId).get();
     }
 
+    public Optional<ClientSummary> getClientSummary(Long id) {
+        return clientRepository.findSummaryById(id);
+    }
+
+    public List<ClientSummary> findAllSummaries() {
+        return clientRepository.findAllSummaries();
+    }
+
     public void updateClient(Client client) {
-         clientRepository.save(client);
+         Client saved = clientRepository.save(client);
+         afterCommit(() -> {
+             clientNameIndex.put(saved.getId(), saved.getName());
+             evictFromEntityCache(saved.getId());
+         });
+    }
+
+    /**
+     * Optimistic read-modify-write: loads the client, applies {@code mutation} and commits in its own transaction.
+     * When the {@code @Version} check fails because another transaction committed first, the client is re-read
+     * and the mutation re-applied, up to {@code update.max-attempts} times with a short jittered pause.
+     * The mutation may therefore run more than once and must only touch the client it is given.
+     */
+    public Client updateClient(Long id, Consumer<Client> mutation) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return self.applyUpdate(id, mutation);
+            } catch (OptimisticLockingFailureException | OptimisticLockException e) {
+                if (attempt >= updateMaxAttempts) {
+                    throw e;
+                }
+                pauseBeforeRetry(attempt);
+            }
+        }
     }
 
+    @Transactional(Transactional.TxType.REQUIRES_NEW)
+    public Client applyUpdate(Long id, Consumer<Client> mutation) {
+        Client client = clientRepository.findById(id)
+                .orElseThrow(() -> new NoSuchElementException("Client " + id + " not found"));
+        mutation.accept(client);
+        clientRepository.flush();
+        afterCommit(() -> {
+            clientNameIndex.put(client.getId(), client.getName());
+            evictFromEntityCache(client.getId());
+        });
+        return client;
+    }
+
+    /**
+     * Substring search served by {@link ClientNameIndex}; matching rows are then loaded by primary key.
+     * Falls back to the {@code LIKE '%x%'} query when the index cannot answer, and inside
+     * REPEATABLE_READ/SERIALIZABLE transactions, where the read must come from the transaction's own snapshot.
+     */
     public List<Client> findByNameLike(String clientName) {
-        return clientRepository.findByNameContaining(clientName);
+        Integer isolation = TransactionSynchronizationManager.getCurrentTransactionIsolationLevel();
+        if (isolation != null && isolation >= Connection.TRANSACTION_REPEATABLE_READ) {
+            return clientRepository.findByNameContaining(clientName);
+        }
+        return clientNameIndex.search(clientName)
+                .map(ids -> loadMatching(ids, clientName))
+                .orElseGet(() -> clientRepository.findByNameContaining(clientName));
     }
+
+    /**
+     * Loads the name index once the application is up. Clients written meanwhile are indexed by their
+     * own commit and are not overwritten by the (older) warm-up read.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void warmUpNameIndex() {
+        forEachClient(client -> clientNameIndex.putIfAbsent(client.getId(), client.getName()));
+        clientNameIndex.markReady();
+    }
+
     public List<Client> findAll() {
         return clientRepository.findAll();
     }
+
+    /**
+     * Reporting read: clients with compliances and invoices, one joined query per 500 ids.
+     * Results follow the order of {@code ids}; unknown ids are skipped.
+     */
+    @Transactional
+    public List<ClientAggregate> loadClientAggregates(Collection<Long> ids) {
+        List<Long> distinctIds = new ArrayList<>(new LinkedHashSet<>(ids));
+        List<ClientAggregate> aggregates = new ArrayList<>(distinctIds.size());
+        for (int from = 0; from < distinctIds.size(); from += 500) {
+            List<Long> slice = distinctIds.subList(from, Math.min(distinctIds.size(), from + 500));
+            Map<Long, Client> loaded = clientRepository.findAggregatesByIdIn(slice).stream()
+                    .collect(Collectors.toMap(Client::getId, Function.identity()));
+            slice.stream()
+                    .map(loaded::get)
+                    .filter(Objects::nonNull)
+                    .map(ClientService::toAggregate)
+                    .forEach(aggregates::add);
+        }
+        return aggregates;
+    }
+
+    public KeysetPage<Client> findPageById(String continuationToken, int pageSize) {
+        return clientRepository.findPageById(continuationToken, pageSize);
+    }
+
+    public KeysetPage<Client> findPageByName(String continuationToken, int pageSize) {
+        return clientRepository.findPageByName(continuationToken, pageSize);
+    }
+
+    /**
+     * Streams all clients over a forward-only JDBC cursor ({@code fetch-size} rows per round trip).
+     * Must be called inside a transaction and closed by the caller (try-with-resources).
+     * Each client is detached as soon as the next one is pulled, so heap use does not grow with row count.
+     */
+    public Stream<Client> streamAll() {
+        Client[] previous = new Client[1];
+        return openCursor()
+                .peek(client -> {
+                    if (previous[0] != null) {
+                        entityManager.detach(previous[0]);
+                    }
+                    previous[0] = client;
+                });
+    }
+
+    /**
+     * Callback variant of {@link #streamAll()}: the persistence context is cleared every
+     * {@code detach-interval} clients, after the consumer has seen them. Returns the number of clients visited.
+     */
+    public long forEachClient(Consumer<Client> consumer) {
+        long visited = 0;
+        try (Stream<Client> clients = openCursor()) {
+            for (Client client : (Iterable<Client>) clients::iterator) {
+                consumer.accept(client);
+                if (++visited % streamDetachInterval == 0) {
+                    entityManager.clear();
+                }
+            }
+        }
+        return visited;
+    }
+
+    private List<Client> loadMatching(List<Long> ids, String clientName) {
+        List<Client> clients = new ArrayList<>(ids.size());
+        for (int from = 0; from < ids.size(); from += 1000) {
+            // rows may have been renamed since they were indexed, so re-check what the database returns
+            clientRepository.findAllById(ids.subList(from, Math.min(ids.size(), from + 1000))).stream()
+                    .filter(c -> c.getName() != null && c.getName().contains(clientName))
+                    .forEach(clients::add);
+        }
+        return clients;
+    }
+
+    private static ClientAggregate toAggregate(Client client) {
+        List<ClientAggregate.ComplianceLine> lines = client.getCompliances() == null ? List.of()
+                : client.getCompliances().stream()
+                .map(compliance -> {
+                    Invoice invoice = compliance.getInvoice();
+                    return ClientAggregate.ComplianceLine.builder()
+                            .complianceId(compliance.getId())
+                            .description(compliance.getDescription())
+                            .status(compliance.getStatus())
+                            .invoiceId(invoice == null ? null : invoice.getId())
+                            .invoiceAmount(invoice == null ? null : invoice.getAmount())
+                            .invoiceStatus(invoice == null ? null : invoice.getStatus())
+                            .build();
+                })
+                .toList();
+        return ClientAggregate.builder()
+                .clientId(client.getId())
+                .name(client.getName())
+                .email(client.getEmail())
+                .compliances(lines)
+                .build();
+    }
+
+    /**
+     * Hibernate keeps the second-level cache in step with its own writes; the explicit eviction also
+     * covers rows changed behind its back (bulk HQL, another node), so the next read goes to the database.
+     */
+    private void evictFromEntityCache(Long id) {
+        entityManager.getEntityManagerFactory().getCache().evict(Client.class, id);
+    }
+
+    private static void pauseBeforeRetry(int attempt) {
+        try {
+            TimeUnit.MILLISECONDS.sleep(ThreadLocalRandom.current().nextLong(1, 5L << Math.min(attempt, 6)));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while retrying client update", e);
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private Stream<Client> openCursor() {
+        return entityManager.createQuery("select c from Client c order by c.id", Client.class)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, streamFetchSize)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream();
+    }
 }
 
@@ -1,11 +1,13 @@
 package com.laithevolution.annotationlab.service;
 
+import com.laithevolution.annotationlab.dto.ComplianceSummary;
 import com.laithevolution.annotationlab.model.Compliance;
 import com.laithevolution.annotationlab.reposotory.ComplianceRepository;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
 import java.util.Optional;
 
 @Service
@@ -13,12 +15,18 @@ import java.util.Optional;
 public class ComplianceService {
 
     private final ComplianceRepository complianceRepository;
+    private final BatchPersister batchPersister;
 
     @Transactional
     public Compliance createCompliance(Compliance compliance) {
         return complianceRepository.save(compliance);
     }
 
+    @Transactional
+    public List<Compliance> createCompliances(List<Compliance> compliances) {
+        return batchPersister.persistAll(compliances);
+    }
+
     @Transactional
     public void deleteCompliance(Long id) {
         complianceRepository.deleteById(id);
@@ -27,4 +35,12 @@ public class ComplianceService {
     public Optional<Compliance> getCompliance(Long id) {
         return complianceRepository.findById(id);
     }
+
+    public Optional<ComplianceSummary> getComplianceSummary(Long id) {
+        return complianceRepository.findSummaryById(id);
+    }
+
+    public List<ComplianceSummary> findSummariesByClient(Long clientId) {
+        return complianceRepository.findSummariesByClientId(clientId);
+    }
 }
@@ -1,11 +1,13 @@
 package com.laithevolution.annotationlab.service;
 
+import com.laithevolution.annotationlab.dto.InvoiceSummary;
 import com.laithevolution.annotationlab.model.Invoice;
 import com.laithevolution.annotationlab.reposotory.InvoiceRepository;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
 import java.util.Optional;
 
 @Service
@@ -13,12 +15,18 @@ import java.util.Optional;
 public class InvoiceService {
 
     private final InvoiceRepository invoiceRepository;
+    private final BatchPersister batchPersister;
 
     @Transactional
     public Invoice createInvoice(Invoice invoice) {
         return invoiceRepository.save(invoice);
     }
 
+    @Transactional
+    public List<Invoice> createInvoices(List<Invoice> invoices) {
+        return batchPersister.persistAll(invoices);
+    }
+
     @Transactional
     public void deleteInvoice(Long id) {
         invoiceRepository.deleteById(id);
@@ -27,4 +35,12 @@ public class InvoiceService {
     public Optional<Invoice> getInvoice(Long id) {
         return invoiceRepository.findById(id);
     }
+
+    public Optional<InvoiceSummary> getInvoiceSummary(Long id) {
+        return invoiceRepository.findSummaryById(id);
+    }
+
+    public Optional<InvoiceSummary> findSummaryByCompliance(Long complianceId) {
+        return invoiceRepository.findSummaryByComplianceId(complianceId);
+    }
 }
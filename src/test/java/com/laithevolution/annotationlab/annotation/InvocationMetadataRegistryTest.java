@@ -0,0 +1,81 @@
+package com.laithevolution.annotationlab.annotation;
+
+import com.laithevolution.annotationlab.facade.transactional.TransactionalIsolationScenarios;
+import com.laithevolution.annotationlab.service.ChunkedCommitOrchestrator;
+import com.laithevolution.annotationlab.service.ClientService;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.annotation.AnnotationTransactionAttributeSource;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class InvocationMetadataRegistryTest {
+
+    private final InvocationMetadataRegistry registry =
+            new InvocationMetadataRegistry(new AnnotationTransactionAttributeSource());
+
+    @Test
+    void testComposedAnnotationResolvesAliasedAttributes() throws NoSuchMethodException {
+        Method method = TransactionalIsolationScenarios.class
+                .getMethod("simulateSerializableReadWriteWithRetry", Long.class, long.class);
+
+        InvocationMetadata metadata = registry.get(method, TransactionalIsolationScenarios.class);
+
+        assertTrue(metadata.transactional());
+        assertEquals(Propagation.REQUIRED, metadata.propagation());
+        assertEquals(Isolation.SERIALIZABLE, metadata.isolation());
+        assertEquals(RetryableTransactional.class.getName(), metadata.transactionSource());
+        assertEquals(TransactionalIsolationScenarios.class.getName() + ".simulateSerializableReadWriteWithRetry",
+                metadata.qualifiedName());
+        assertFalse(metadata.async());
+    }
+
+    @Test
+    void testJakartaAnnotationResolvesTxType() throws NoSuchMethodException {
+        Method method = ClientService.class.getMethod("applyUpdate", Long.class, Consumer.class);
+
+        InvocationMetadata metadata = registry.get(method, ClientService.class);
+
+        assertTrue(metadata.transactional());
+        assertEquals(Propagation.REQUIRES_NEW, metadata.propagation());
+        assertEquals(jakarta.transaction.Transactional.class.getName(), metadata.transactionSource());
+    }
+
+    @Test
+    void testAsyncAndTransactionalAreResolvedTogether() throws NoSuchMethodException {
+        Method method = ChunkedCommitOrchestrator.class.getMethod("commitChunk", List.class);
+
+        InvocationMetadata metadata = registry.get(method, ChunkedCommitOrchestrator.class);
+
+        assertTrue(metadata.async());
+        assertEquals("chunkCommitExecutor", metadata.asyncExecutor());
+        assertEquals(Propagation.REQUIRES_NEW, metadata.propagation());
+        assertEquals(Transactional.class.getName(), metadata.transactionSource());
+    }
+
+    @Test
+    void testPlainMethodIsNeitherTransactionalNorAsync() throws NoSuchMethodException {
+        InvocationMetadata metadata = registry.get(Object.class.getMethod("toString"), Object.class);
+
+        assertFalse(metadata.transactional());
+        assertFalse(metadata.async());
+        assertNull(metadata.propagation());
+    }
+
+    @Test
+    void testDescriptorIsResolvedOncePerMethodAndTargetClass() throws NoSuchMethodException {
+        Method method = ClientService.class.getMethod("deleteClient", Long.class);
+
+        InvocationMetadata first = registry.get(method, ClientService.class);
+        InvocationMetadata second = registry.get(method, ClientService.class);
+
+        assertSame(first, second);
+        assertEquals(1, registry.size());
+    }
+}
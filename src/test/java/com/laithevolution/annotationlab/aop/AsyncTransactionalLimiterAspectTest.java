@@ -0,0 +1,51 @@
+package com.laithevolution.annotationlab.aop;
+
+import com.laithevolution.annotationlab.facade.async.AsyncParallelScenarios;
+import com.laithevolution.annotationlab.facade.async.AsyncTransactionalScenarios;
+import com.laithevolution.annotationlab.model.Client;
+import com.laithevolution.annotationlab.service.ClientService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "annotationlab.async.transactional-limit=2")
+public class AsyncTransactionalLimiterAspectTest {
+
+    @Autowired
+    private AsyncTransactionalLimiterAspect limiter;
+
+    @Autowired
+    private AsyncTransactionalScenarios asyncTransactionalScenarios;
+
+    @Autowired
+    private AsyncParallelScenarios asyncParallelScenarios;
+
+    @Autowired
+    private ClientService clientService;
+
+    @Test
+    void testTransactionalAsyncTasksRunAtMostLimitAtOnce() {
+        Client client = clientService.createClient(Client.builder().name("Limited").build());
+
+        List<CompletableFuture<String>> futures = IntStream.range(0, 6)
+                .mapToObj(i -> asyncTransactionalScenarios.asyncChildWithinParentDeadline(client.getId(), 200))
+                .toList();
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+
+        assertEquals(2, limiter.limit());
+        assertEquals(2, limiter.peakInFlight(), "Six tasks on a thread-per-task executor should queue for 2 permits");
+    }
+
+    @Test
+    void testNonTransactionalAsyncTasksAreNotLimited() {
+        long start = System.currentTimeMillis();
+        assertEquals(20, asyncParallelScenarios.executeMultipleAsyncTasks(20, 300).size());
+        assertTrue(System.currentTimeMillis() - start < 2_000, "Sleep-only tasks should all run at once");
+    }
+}
@@ -0,0 +1,102 @@
+package com.laithevolution.annotationlab.aop;
+
+import com.laithevolution.annotationlab.dto.PropagationSample;
+import com.laithevolution.annotationlab.facade.transactional.TransactionalBehaviorScenarios;
+import com.laithevolution.annotationlab.model.Client;
+import com.laithevolution.annotationlab.service.ClientService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "annotationlab.monitor.propagation.sample-rate=1.0",
+        "annotationlab.monitor.propagation.flush-interval=1h"
+})
+public class PropagationMonitorAspectTest {
+
+    @Autowired
+    private PropagationMonitorAspect monitor;
+
+    @Autowired
+    private TransactionalBehaviorScenarios behaviorScenarios;
+
+    @Autowired
+    private ClientService clientService;
+
+    @Test
+    void testSampledCallCapturesDeclaredAttributesAndTransactionState() {
+        monitor.drainTo(sample -> { });
+
+        behaviorScenarios.forEachClientReadOnly(client -> { });
+
+        List<PropagationSample> samples = new ArrayList<>();
+        monitor.drainTo(samples::add);
+        PropagationSample sample = samples.stream()
+                .filter(s -> s.getMethod().endsWith(".forEachClientReadOnly"))
+                .findFirst()
+                .orElseThrow();
+        assertEquals("REQUIRED", sample.getPropagation());
+        assertEquals("DEFAULT", sample.getIsolation());
+        assertTrue(sample.isReadOnly());
+        assertTrue(sample.isTransactionActiveBefore());
+        assertTrue(sample.getTransactionNameBefore().endsWith(".forEachClientReadOnly"));
+        assertTrue(sample.isTransactionActiveAfter());
+        assertFalse(sample.isFailed());
+        assertEquals(Thread.currentThread().getName(), sample.getThreadName());
+    }
+
+    @Test
+    void testRingKeepsTheNewestLapAndCountsOverwrittenSamples() {
+        PropagationSampleRing ring = new PropagationSampleRing(4);
+        for (int i = 0; i < 10; i++) {
+            PropagationSampleRing.Slot slot = ring.claim();
+            slot.method = "call-" + i;
+            ring.publish(slot);
+        }
+
+        List<PropagationSample> samples = new ArrayList<>();
+        assertEquals(4, ring.drainTo(samples::add));
+        assertEquals(List.of("call-6", "call-7", "call-8", "call-9"),
+                samples.stream().map(PropagationSample::getMethod).toList());
+        assertEquals(6, ring.dropped());
+        assertEquals(0, ring.drainTo(samples::add));
+    }
+
+    @Test
+    void testLongSampledTransactionDoesNotHoldBackLaterSamples() throws Exception {
+        clientService.createClient(Client.builder().name("Slow reader").build());
+        monitor.drainTo(sample -> { });
+        CountDownLatch inside = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Long> slow = CompletableFuture.supplyAsync(
+                () -> behaviorScenarios.forEachClientReadOnly(client -> {
+                    inside.countDown();
+                    try {
+                        release.await(10, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }));
+        assertTrue(inside.await(10, TimeUnit.SECONDS));
+
+        behaviorScenarios.findAllClientsReadOnly();
+        List<String> drained = new ArrayList<>();
+        monitor.drainTo(sample -> drained.add(sample.getMethod()));
+        assertTrue(drained.stream().anyMatch(method -> method.endsWith(".findAllClientsReadOnly")),
+                "A transaction still running must not stall the samples completed after it started: " + drained);
+
+        release.countDown();
+        slow.get(10, TimeUnit.SECONDS);
+        drained.clear();
+        monitor.drainTo(sample -> drained.add(sample.getMethod()));
+        assertTrue(drained.stream().anyMatch(method -> method.endsWith(".forEachClientReadOnly")), drained.toString());
+    }
+}
@@ -0,0 +1,102 @@
+package com.laithevolution.annotationlab.aop;
+
+import com.laithevolution.annotationlab.dto.TransactionTraceNode;
+import com.laithevolution.annotationlab.facade.transactional.TransactionalPropagationScenarios;
+import com.laithevolution.annotationlab.model.Client;
+import com.laithevolution.annotationlab.model.Compliance;
+import com.laithevolution.annotationlab.model.Invoice;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+public class PropagationRequiresNewMonitorAspectTest {
+
+    private static final String PARENT = "parentWithRequiredPropagationInvokingRequiresNewChildFailure";
+    private static final String CHILD = "childWithRequiresNewPropagation";
+
+    @Autowired
+    private PropagationRequiresNewMonitorAspect traceAspect;
+
+    @Autowired
+    private TransactionalPropagationScenarios propagationScenarios;
+
+    @BeforeEach
+    void clearTraces() {
+        traceAspect.drainTo(trace -> { });
+    }
+
+    @Test
+    void testRequiresNewChildIsTracedUnderItsParent() {
+        runScenario("Trace");
+
+        List<TransactionTraceNode> roots = drain();
+        assertEquals(1, roots.size());
+        TransactionTraceNode parent = roots.get(0);
+        assertTrue(parent.getMethod().endsWith("." + PARENT));
+        assertEquals(TransactionTraceNode.Kind.NEW, parent.getKind());
+        assertFalse(parent.isSuspendsOuter());
+        assertFalse(parent.isRollbackOnly());
+
+        assertEquals(1, parent.getChildren().size());
+        TransactionTraceNode child = parent.getChildren().get(0);
+        assertTrue(child.getMethod().endsWith("." + CHILD));
+        assertEquals("REQUIRES_NEW", child.getPropagation());
+        assertEquals(TransactionTraceNode.Kind.NEW, child.getKind());
+        assertTrue(child.isSuspendsOuter());
+        assertTrue(child.isRollbackOnly());
+        assertNotEquals(parent.getTransactionName(), child.getTransactionName());
+        assertTrue(child.getStartOffsetNanos() > 0);
+        assertTrue(child.getStartOffsetNanos() + child.getDurationNanos() <= parent.getDurationNanos());
+    }
+
+    @Test
+    void testConcurrentCallsBuildSeparateTrees() {
+        int threads = 8;
+        int callsPerThread = 5;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            CompletableFuture.allOf(IntStream.range(0, threads)
+                    .mapToObj(t -> CompletableFuture.runAsync(() -> {
+                        for (int i = 0; i < callsPerThread; i++) {
+                            runScenario("Parallel-" + t + "-" + i);
+                        }
+                    }, executor))
+                    .toArray(CompletableFuture[]::new)).join();
+        } finally {
+            executor.shutdown();
+        }
+
+        List<TransactionTraceNode> roots = drain();
+        assertEquals(threads * callsPerThread, roots.size());
+        for (TransactionTraceNode root : roots) {
+            assertTrue(root.getMethod().endsWith("." + PARENT));
+            assertEquals(1, root.getChildren().size());
+            assertEquals(root.getThreadName(), root.getChildren().get(0).getThreadName());
+            assertTrue(root.getChildren().get(0).getChildren().isEmpty());
+        }
+    }
+
+    private void runScenario(String clientName) {
+        propagationScenarios.parentWithRequiredPropagationInvokingRequiresNewChildFailure(
+                Client.builder().name(clientName).build(),
+                Compliance.builder().description("KYC").status("NEW").build(),
+                Invoice.builder().amount(10.0).status("NEW").build());
+    }
+
+    private List<TransactionTraceNode> drain() {
+        List<TransactionTraceNode> roots = new ArrayList<>();
+        traceAspect.drainTo(roots::add);
+        return roots;
+    }
+}
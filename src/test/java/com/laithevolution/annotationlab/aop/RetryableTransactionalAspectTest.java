@@ -0,0 +1,60 @@
+package com.laithevolution.annotationlab.aop;
+
+import com.laithevolution.annotationlab.facade.transactional.TransactionalIsolationScenarios;
+import com.laithevolution.annotationlab.model.Client;
+import com.laithevolution.annotationlab.service.ClientService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.OptimisticLockingFailureException;
+
+import java.sql.SQLException;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+public class RetryableTransactionalAspectTest {
+
+    @Autowired
+    private TransactionalIsolationScenarios isolationScenarios;
+
+    @Autowired
+    private ClientService clientService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void testConcurrentSerializableWritersBothCommitAfterRetry() {
+        Client client = clientService.createClient(Client.builder().name("Retryable").build());
+        double retriesBefore = retries();
+
+        CompletableFuture<Void> first = CompletableFuture.runAsync(
+                () -> isolationScenarios.simulateSerializableReadWriteWithRetry(client.getId(), 300));
+        CompletableFuture<Void> second = CompletableFuture.runAsync(
+                () -> isolationScenarios.simulateSerializableReadWriteWithRetry(client.getId(), 300));
+        CompletableFuture.allOf(first, second).join();
+
+        String name = clientService.findById(client.getId()).getName();
+        assertEquals("Retryable-SerializableUpdate-SerializableUpdate", name);
+        assertTrue(retries() - retriesBefore >= 1, "the losing writer should have been retried");
+    }
+
+    @Test
+    void testOnlyConcurrencyFailuresAreRetryable() {
+        assertTrue(RetryableTransactionalAspect.isRetryable(new OptimisticLockingFailureException("stale")));
+        assertTrue(RetryableTransactionalAspect.isRetryable(
+                new RuntimeException(new SQLException("serialization failure", "40001"))));
+        assertFalse(RetryableTransactionalAspect.isRetryable(
+                new RuntimeException(new SQLException("unique violation", "23505"))));
+        assertFalse(RetryableTransactionalAspect.isRetryable(new IllegalStateException("boom")));
+    }
+
+    private double retries() {
+        return meterRegistry.find("transaction.retries").counters().stream()
+                .mapToDouble(counter -> counter.count())
+                .sum();
+    }
+}
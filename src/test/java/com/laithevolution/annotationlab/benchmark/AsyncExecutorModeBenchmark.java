@@ -0,0 +1,111 @@
+package com.laithevolution.annotationlab.benchmark;
+
+import com.laithevolution.annotationlab.dto.AsyncResult;
+import com.laithevolution.annotationlab.exceptions.ExecutorOverloadedException;
+import com.laithevolution.annotationlab.facade.async.AsyncParallelScenarios;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.util.AopTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Wall time of {@code tasks} concurrent {@link AsyncParallelScenarios#performAsyncTask} calls (blocking sleeps):
+ * <ul>
+ *     <li>{@code bigTaskExecutor} - the bounded pool (sized by {@code AdaptivePoolController} when enabled);
+ *     submissions wait for pool + queue capacity instead of being rejected, so this is what the pool can
+ *     actually sustain</li>
+ *     <li>{@code platform} - plain {@code @Async}, one platform thread per task</li>
+ *     <li>{@code virtual} - plain {@code @Async} with {@code annotationlab.async.executor-mode=virtual};
+ *     needs JDK 21 and fails at setup on older JVMs</li>
+ * </ul>
+ * <pre>./mvnw -Pbenchmark test-compile exec:exec -Djmh.args="AsyncExecutorMode"</pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(1)
+public class AsyncExecutorModeBenchmark {
+
+    @Param({"bigTaskExecutor", "platform", "virtual"})
+    public String executor;
+
+    @Param("10000")
+    public int tasks;
+
+    @Param("10")
+    public long delayMillis;
+
+    private ConfigurableApplicationContext context;
+    private AsyncParallelScenarios scenarios;
+    private AsyncParallelScenarios target;
+    private ThreadPoolTaskExecutor bigTaskExecutor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start("annotationlab.async.executor-mode="
+                + ("virtual".equals(executor) ? "virtual" : "platform"));
+        scenarios = context.getBean(AsyncParallelScenarios.class);
+        target = AopTestUtils.getUltimateTargetObject(scenarios);
+        bigTaskExecutor = context.getBean("bigTaskExecutor", ThreadPoolTaskExecutor.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int run() {
+        if ("bigTaskExecutor".equals(executor)) {
+            return onBigTaskExecutor();
+        }
+        return scenarios.executeMultipleAsyncTasks(tasks, delayMillis).size();
+    }
+
+    private int onBigTaskExecutor() {
+        Semaphore capacity = new Semaphore(bigTaskExecutor.getMaxPoolSize() + bigTaskExecutor.getQueueCapacity());
+        List<CompletableFuture<AsyncResult>> futures = new ArrayList<>(tasks);
+        for (int i = 1; i <= tasks; i++) {
+            int taskId = i;
+            capacity.acquireUninterruptibly();
+            futures.add(submit(() -> {
+                try {
+                    return target.performAsyncTask(taskId, delayMillis).join();
+                } finally {
+                    capacity.release();
+                }
+            }));
+        }
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+        return futures.size();
+    }
+
+    /**
+     * A permit is released just before the worker is free again, so admission control can still shed briefly;
+     * a shed submission comes back as a future failed with {@link ExecutorOverloadedException} and is retried.
+     */
+    private CompletableFuture<AsyncResult> submit(Callable<AsyncResult> task) {
+        while (true) {
+            CompletableFuture<AsyncResult> future = bigTaskExecutor.submitCompletable(task);
+            if (!isShed(future)) {
+                return future;
+            }
+            LockSupport.parkNanos(100_000);
+        }
+    }
+
+    private static boolean isShed(CompletableFuture<?> future) {
+        return future.isCompletedExceptionally()
+                && future.handle((result, e) -> e instanceof ExecutorOverloadedException).join();
+    }
+}
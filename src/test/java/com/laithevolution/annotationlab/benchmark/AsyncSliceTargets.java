@@ -0,0 +1,33 @@
+package com.laithevolution.annotationlab.benchmark;
+
+import org.springframework.scheduling.annotation.Async;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * CPU-bound kernel for {@link ParallelComputeBenchmark}, callable directly or as one plain {@code @Async} task
+ * per slice.
+ */
+public class AsyncSliceTargets {
+
+    @Async
+    public CompletableFuture<Long> sliceAsync(int fromInclusive, int toExclusive) {
+        return CompletableFuture.completedFuture(slice(fromInclusive, toExclusive));
+    }
+
+    /**
+     * A few rounds of 64-bit mixing per index: pure arithmetic, no allocation, no memory traffic.
+     */
+    public static long slice(int fromInclusive, int toExclusive) {
+        long sum = 0;
+        for (int i = fromInclusive; i < toExclusive; i++) {
+            long x = i * 0x9E3779B97F4A7C15L;
+            for (int round = 0; round < 8; round++) {
+                x ^= x >>> 31;
+                x *= 0xBF58476D1CE4E5B9L;
+            }
+            sum += x;
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,48 @@
+package com.laithevolution.annotationlab.benchmark;
+
+import com.laithevolution.annotationlab.MetaAnnotationDeepdiveLabApplication;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.support.GenericApplicationContext;
+
+import java.util.Arrays;
+import java.util.stream.Stream;
+
+/**
+ * Boots the lab's Spring context for JMH against a private in-memory H2 database (unless a
+ * {@code spring.datasource.url} is passed), with SQL logging turned off so it does not dominate the measurement.
+ */
+public final class BenchmarkContext {
+
+    private BenchmarkContext() {
+    }
+
+    public static ConfigurableApplicationContext start(String... extraProperties) {
+        return start(new Class<?>[0], extraProperties);
+    }
+
+    /**
+     * Same, with benchmark-only beans registered next to the application's own, so they are proxied like them
+     * without being picked up by component scanning in the regular test contexts.
+     */
+    public static ConfigurableApplicationContext start(Class<?>[] extraBeans, String... extraProperties) {
+        SpringApplication application = new SpringApplication(MetaAnnotationDeepdiveLabApplication.class);
+        application.setWebApplicationType(WebApplicationType.NONE);
+        application.addInitializers(context -> {
+            for (Class<?> bean : extraBeans) {
+                ((GenericApplicationContext) context).registerBean(bean);
+            }
+        });
+        boolean ownDatabase = Arrays.stream(extraProperties)
+                .anyMatch(property -> property.startsWith("spring.datasource.url="));
+        String[] args = Stream.concat(Stream.of(
+                                ownDatabase ? "" : "--spring.datasource.url=jdbc:h2:mem:bench;DB_CLOSE_DELAY=-1",
+                                "--spring.jpa.show-sql=false",
+                                "--logging.level.root=WARN"),
+                        Arrays.stream(extraProperties).map(property -> "--" + property))
+                .filter(arg -> !arg.isEmpty())
+                .toArray(String[]::new);
+        return application.run(args);
+    }
+}
@@ -0,0 +1,87 @@
+package com.laithevolution.annotationlab.benchmark;
+
+import com.laithevolution.annotationlab.model.Client;
+import com.laithevolution.annotationlab.reposotory.ClientRepository;
+import com.laithevolution.annotationlab.service.ClientNameIndex;
+import com.laithevolution.annotationlab.service.ClientService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Substring search over client names: trigram index vs the {@code LIKE '%x%'} query it replaces.
+ * The fragment is taken from one client's random suffix, so every variant returns a single row.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx4g")
+public class ClientNameSearchBenchmark {
+
+    @Param({"10000", "100000", "1000000"})
+    private int clients;
+
+    private ConfigurableApplicationContext context;
+    private ClientRepository clientRepository;
+    private ClientService clientService;
+    private ClientNameIndex clientNameIndex;
+    private String fragment;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start();
+        clientRepository = context.getBean(ClientRepository.class);
+        clientService = context.getBean(ClientService.class);
+        clientNameIndex = context.getBean(ClientNameIndex.class);
+
+        Random random = new Random(42);
+        List<Client> batch = new ArrayList<>(10_000);
+        for (int i = 0; i < clients; i++) {
+            String suffix = randomWord(random, 8);
+            if (i == clients / 2) {
+                fragment = suffix.substring(1, 7);
+            }
+            batch.add(Client.builder().name("client-" + i + "-" + suffix).email("c" + i + "@example.com").build());
+            if (batch.size() == 10_000) {
+                clientService.createClients(batch);
+                batch = new ArrayList<>(10_000);
+            }
+        }
+        clientService.createClients(batch);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<Client> likeQuery() {
+        return clientRepository.findByNameContaining(fragment);
+    }
+
+    @Benchmark
+    public List<Client> indexedSearch() {
+        return clientService.findByNameLike(fragment);
+    }
+
+    @Benchmark
+    public Optional<List<Long>> indexLookupOnly() {
+        return clientNameIndex.search(fragment);
+    }
+
+    private static String randomWord(Random random, int length) {
+        StringBuilder word = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            word.append((char) ('a' + random.nextInt(26)));
+        }
+        return word.toString();
+    }
+}
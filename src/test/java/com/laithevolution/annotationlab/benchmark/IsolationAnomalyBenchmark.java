@@ -0,0 +1,264 @@
+package com.laithevolution.annotationlab.benchmark;
+
+import com.laithevolution.annotationlab.facade.transactional.IsolationCheckpoint;
+import com.laithevolution.annotationlab.facade.transactional.ScriptedIsolationCoordinator;
+import com.laithevolution.annotationlab.facade.transactional.TransactionalIsolationScenarios;
+import com.laithevolution.annotationlab.model.Client;
+import com.laithevolution.annotationlab.service.ClientService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Runs the reader/writer interleavings of {@link TransactionalIsolationScenarios} back to back, steered through
+ * {@link ScriptedIsolationCoordinator} instead of sleeps, and counts per isolation level how often the anomaly
+ * each scenario looks for actually happened and how many transactions were aborted.
+ * <p>
+ * The scenario methods join a caller transaction opened with the {@code isolation} parameter (the observing
+ * side: the reader, or both writers for {@code LOST_UPDATE}), so one scenario is measured at every level.
+ * Throughput is interleavings per second; {@code anomalies / interleavings} and {@code aborts / interleavings}
+ * are the rates. {@code Client} is {@code @Version}ed, so lost updates show up as aborts at every level.
+ * <pre>
+ * ./mvnw -Pbenchmark test-compile exec:exec -Djmh.args="IsolationAnomaly"
+ * ./mvnw -Pbenchmark test-compile exec:exec -Djmh.args="IsolationAnomaly -p jdbcUrl=jdbc:postgresql://localhost:5432/testdb"
+ * </pre>
+ * Without {@code jdbcUrl} the in-memory H2 (MVStore/MVCC) database is used.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class IsolationAnomalyBenchmark {
+
+    /** How long a checkpoint waits for the other transaction, which may be blocked on a lock held by this one. */
+    private static final long PARTNER_TIMEOUT_MILLIS = 2_000;
+
+    public enum Scenario {
+        DIRTY_READ, NON_REPEATABLE_READ, LOST_UPDATE, PHANTOM_READ
+    }
+
+    @Param({"DIRTY_READ", "NON_REPEATABLE_READ", "LOST_UPDATE", "PHANTOM_READ"})
+    public Scenario scenario;
+
+    @Param({"READ_UNCOMMITTED", "READ_COMMITTED", "REPEATABLE_READ", "SERIALIZABLE"})
+    public Isolation isolation;
+
+    @Param("")
+    public String jdbcUrl;
+
+    @Param("sa")
+    public String username;
+
+    @Param("sa")
+    public String password;
+
+    private final AtomicLong sequence = new AtomicLong();
+
+    private ConfigurableApplicationContext context;
+    private TransactionalIsolationScenarios scenarios;
+    private ScriptedIsolationCoordinator coordinator;
+    private ClientService clientService;
+    private TransactionTemplate observer;
+    private ExecutorService partner;
+    private Client client;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        List<String> properties = new ArrayList<>(List.of(
+                // the shared entity cache would answer reads regardless of the isolation level
+                "spring.jpa.properties.hibernate.cache.use_second_level_cache=false"));
+        if (!jdbcUrl.isEmpty()) {
+            properties.add("spring.datasource.url=" + jdbcUrl);
+            properties.add("spring.datasource.username=" + username);
+            properties.add("spring.datasource.password=" + password);
+        }
+        context = BenchmarkContext.start(new Class<?>[]{ScriptedIsolationCoordinator.class},
+                properties.toArray(String[]::new));
+        scenarios = context.getBean(TransactionalIsolationScenarios.class);
+        coordinator = context.getBean(ScriptedIsolationCoordinator.class);
+        clientService = context.getBean(ClientService.class);
+        observer = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        observer.setIsolationLevel(isolation.value());
+        partner = Executors.newSingleThreadExecutor();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        partner.shutdownNow();
+        context.close();
+    }
+
+    @Setup(Level.Invocation)
+    public void newClient() {
+        coordinator.reset();
+        String name = "Isolation-" + sequence.incrementAndGet() + "-";
+        client = clientService.createClient(Client.builder().name(name).email("isolation@example.com").build());
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Outcomes {
+        public long interleavings;
+        public long anomalies;
+        public long aborts;
+    }
+
+    @Benchmark
+    public void interleave(Outcomes outcomes) {
+        outcomes.interleavings++;
+        switch (scenario) {
+            case DIRTY_READ -> dirtyRead(outcomes);
+            case NON_REPEATABLE_READ -> nonRepeatableRead(outcomes);
+            case LOST_UPDATE -> lostUpdate(outcomes);
+            case PHANTOM_READ -> phantomRead(outcomes);
+        }
+    }
+
+    /**
+     * The reader runs at {@code isolation} while the writer's update is flushed but not committed.
+     */
+    private void dirtyRead(Outcomes outcomes) {
+        AtomicReference<Future<String>> reader = new AtomicReference<>();
+        AtomicBoolean readBeforeCommit = new AtomicBoolean();
+        coordinator.on(IsolationCheckpoint.WRITER_UPDATED, () -> {
+            reader.set(partner.submit(() -> observer.execute(
+                    status -> scenarios.readClientNameDuringUncommittedUpdate(client.getId()))));
+            readBeforeCommit.set(settled(reader.get()));
+        });
+        attempt(() -> {
+            scenarios.simulateWriterUncommittedUpdate(client.getId());
+            return null;
+        }, outcomes);
+        String seen = result(reader.get(), outcomes);
+        if (readBeforeCommit.get() && "UpdatedName-Uncommitted".equals(seen)) {
+            outcomes.anomalies++;
+        }
+    }
+
+    /**
+     * Another transaction commits a new name between the reader's two reads.
+     */
+    private void nonRepeatableRead(Outcomes outcomes) {
+        AtomicReference<Future<Client>> writer = new AtomicReference<>();
+        coordinator.on(IsolationCheckpoint.READER_FIRST_READ, () -> {
+            writer.set(partner.submit(() -> clientService.updateClient(client.getId(),
+                    changed -> changed.setName(changed.getName() + "changed"))));
+            settled(writer.get());
+        });
+        String outcome = attempt(() -> observer.execute(
+                status -> scenarios.readClientTwiceWithinSameTransaction(client.getId())), outcomes);
+        result(writer.get(), outcomes);
+        if (outcome != null && outcome.startsWith("Inconsistent")) {
+            outcomes.anomalies++;
+        }
+    }
+
+    /**
+     * Two read-modify-write transactions: B reads the row before A commits, then writes after it.
+     * Both committing with only one suffix applied is a lost update.
+     */
+    private void lostUpdate(Outcomes outcomes) {
+        AtomicReference<Future<Boolean>> second = new AtomicReference<>();
+        coordinator.on(IsolationCheckpoint.SERIALIZABLE_WRITTEN, () -> {
+            CountDownLatch secondHasRead = new CountDownLatch(1);
+            coordinator.on(IsolationCheckpoint.SERIALIZABLE_READ, secondHasRead::countDown);
+            second.set(partner.submit(() -> observer.execute(status -> {
+                scenarios.simulateSerializableReadWrite(client.getId());
+                return true;
+            })));
+            await(secondHasRead);
+        });
+        Boolean firstCommitted = attempt(() -> observer.execute(status -> {
+            scenarios.simulateSerializableReadWrite(client.getId());
+            return true;
+        }), outcomes);
+        Boolean secondCommitted = result(second.get(), outcomes);
+        if (firstCommitted != null && secondCommitted != null
+                && !clientService.findById(client.getId()).getName().endsWith("-SerializableUpdate-SerializableUpdate")) {
+            outcomes.anomalies++;
+        }
+    }
+
+    /**
+     * Another transaction inserts and commits a matching client between the reader's two queries.
+     */
+    private void phantomRead(Outcomes outcomes) {
+        AtomicReference<Future<Object>> writer = new AtomicReference<>();
+        coordinator.on(IsolationCheckpoint.PHANTOM_FIRST_READ, () -> {
+            writer.set(partner.submit(() -> {
+                scenarios.insertClientDuringReader(client.getName() + "phantom", "phantom@example.com");
+                return null;
+            }));
+            settled(writer.get());
+        });
+        Boolean phantom = attempt(() -> observer.execute(
+                status -> scenarios.detectPhantomReadDuringConcurrentInsert(client.getName())), outcomes);
+        result(writer.get(), outcomes);
+        if (Boolean.TRUE.equals(phantom)) {
+            outcomes.anomalies++;
+        }
+    }
+
+    /**
+     * Runs one transaction on the benchmark thread; a failure is an abort and yields null.
+     */
+    private static <T> T attempt(Callable<T> transaction, Outcomes outcomes) {
+        try {
+            return transaction.call();
+        } catch (Exception e) {
+            outcomes.aborts++;
+            return null;
+        }
+    }
+
+    /**
+     * Outcome of the partner transaction; a failure is an abort and yields null.
+     */
+    private static <T> T result(Future<T> future, Outcomes outcomes) {
+        if (future == null) {
+            return null;
+        }
+        try {
+            return future.get();
+        } catch (Exception e) {
+            outcomes.aborts++;
+            return null;
+        }
+    }
+
+    /**
+     * Waits inside a checkpoint for the partner to finish; false when it is still blocked after the timeout.
+     */
+    private static boolean settled(Future<?> future) {
+        try {
+            future.get(PARTNER_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+        } catch (Exception e) {
+            // failures are counted by result(); a timeout means the partner waits for this transaction
+        }
+        return future.isDone();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(PARTNER_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.laithevolution.annotationlab.benchmark;
+
+import com.laithevolution.annotationlab.facade.async.AsyncParallelScenarios;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * CPU-bound reduction over {@code size} indices, cut into slices of {@code grainSize}:
+ * <ul>
+ *     <li>{@code forkJoin} - {@link AsyncParallelScenarios#computeOverRange} on {@code parallelComputePool}:
+ *     recursive halving, idle workers steal</li>
+ *     <li>{@code asyncFanOut} - one plain {@code @Async} call per slice, joined at the end, the way
+ *     {@link AsyncParallelScenarios#executeMultipleAsyncTasks} fans out</li>
+ *     <li>{@code sequential} - the same kernel over the whole range on the caller, as the baseline</li>
+ * </ul>
+ * Small grains show the per-task cost of the fan-out (a proxy call, a thread and a future per slice); large grains
+ * show how few slices leave cores idle.
+ * <pre>./mvnw -Pbenchmark test-compile exec:exec -Djmh.args="ParallelCompute"</pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ParallelComputeBenchmark {
+
+    @Param({"forkJoin", "asyncFanOut", "sequential"})
+    public String mode;
+
+    @Param({"1024", "16384", "262144"})
+    public int grainSize;
+
+    @Param("4194304")
+    public int size;
+
+    private ConfigurableApplicationContext context;
+    private AsyncParallelScenarios scenarios;
+    private AsyncSliceTargets targets;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start(new Class<?>[]{AsyncSliceTargets.class});
+        scenarios = context.getBean(AsyncParallelScenarios.class);
+        targets = context.getBean(AsyncSliceTargets.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public long run() {
+        return switch (mode) {
+            case "forkJoin" -> scenarios.computeOverRange(0, size, grainSize, AsyncSliceTargets::slice, Long::sum);
+            case "asyncFanOut" -> fanOut();
+            case "sequential" -> AsyncSliceTargets.slice(0, size);
+            default -> throw new IllegalArgumentException(mode);
+        };
+    }
+
+    private long fanOut() {
+        List<CompletableFuture<Long>> futures = new ArrayList<>(size / grainSize + 1);
+        for (int from = 0; from < size; from += grainSize) {
+            futures.add(targets.sliceAsync(from, Math.min(size, from + grainSize)));
+        }
+        long sum = 0;
+        for (CompletableFuture<Long> future : futures) {
+            sum += future.join();
+        }
+        return sum;
+    }
+}
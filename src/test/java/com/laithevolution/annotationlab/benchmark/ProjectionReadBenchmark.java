@@ -0,0 +1,74 @@
+package com.laithevolution.annotationlab.benchmark;
+
+import com.laithevolution.annotationlab.dto.ClientSummary;
+import com.laithevolution.annotationlab.model.Client;
+import com.laithevolution.annotationlab.service.ClientService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Entity reads vs record projections of the same columns.
+ * Run with {@code -prof gc} to compare allocation per operation next to latency:
+ * <pre>./mvnw -Pbenchmark test-compile exec:exec -Djmh.args="ProjectionRead -prof gc"</pre>
+ * The list reads run inside a read-only transaction so both sides pay the same transaction cost.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProjectionReadBenchmark {
+
+    @Param({"100", "10000"})
+    private int rows;
+
+    private ConfigurableApplicationContext context;
+    private ClientService clientService;
+    private TransactionTemplate readOnly;
+    private Long someId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // the second-level cache would turn entity lookups by id into map hits; measure the database path
+        context = BenchmarkContext.start("spring.jpa.properties.hibernate.cache.use_second_level_cache=false");
+        clientService = context.getBean(ClientService.class);
+        readOnly = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnly.setReadOnly(true);
+        List<Client> saved = clientService.createClients(IntStream.range(0, rows)
+                .mapToObj(i -> Client.builder().name("Projection-" + i).email("p" + i + "@example.com").build())
+                .toList());
+        someId = saved.get(rows / 2).getId();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<Client> entityFindAll() {
+        return readOnly.execute(status -> clientService.findAll());
+    }
+
+    @Benchmark
+    public List<ClientSummary> projectionFindAll() {
+        return readOnly.execute(status -> clientService.findAllSummaries());
+    }
+
+    @Benchmark
+    public Client entityFindById() {
+        return clientService.getClient(someId).orElseThrow();
+    }
+
+    @Benchmark
+    public ClientSummary projectionFindById() {
+        return clientService.getClientSummary(someId).orElseThrow();
+    }
+}
@@ -0,0 +1,93 @@
+package com.laithevolution.annotationlab.benchmark;
+
+import com.laithevolution.annotationlab.config.ConnectionTrackingDataSource;
+import com.laithevolution.annotationlab.dto.TransactionalScenarioResult;
+import com.laithevolution.annotationlab.facade.transactional.TransactionalPropagationScenarios;
+import com.laithevolution.annotationlab.model.Client;
+import com.laithevolution.annotationlab.model.Compliance;
+import com.laithevolution.annotationlab.model.Invoice;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parent + failing child under REQUIRED (child failure dooms the whole transaction), REQUIRES_NEW (second
+ * physical transaction and connection per child) and NESTED (savepoint on the parent's connection),
+ * at the same concurrency. Reports throughput and sampled latency; the {@code connections} counter is the
+ * number of pool checkouts, so connections per call = connections / ops.
+ * <pre>./mvnw -Pbenchmark test-compile exec:exec -Djmh.args="PropagationMode"</pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(4)
+@Fork(1)
+public class PropagationModeBenchmark {
+
+    private ConfigurableApplicationContext context;
+    private TransactionalPropagationScenarios scenarios;
+    private ConnectionTrackingDataSource pool;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        // two connections per REQUIRES_NEW caller, so the pool is not what is being measured
+        context = BenchmarkContext.start("spring.datasource.hikari.maximum-pool-size=16");
+        scenarios = context.getBean(TransactionalPropagationScenarios.class);
+        pool = context.getBean(DataSource.class).unwrap(ConnectionTrackingDataSource.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Connections {
+        public long connections;
+    }
+
+    @Benchmark
+    public TransactionalScenarioResult required(Connections counter) {
+        long before = pool.acquiredByCurrentThread();
+        TransactionalScenarioResult result = scenarios.parentWithRequiredPropagationInvokingRequiredChildFailure(
+                client(), compliance(), invoice());
+        counter.connections += pool.acquiredByCurrentThread() - before;
+        return result;
+    }
+
+    @Benchmark
+    public TransactionalScenarioResult requiresNew(Connections counter) {
+        long before = pool.acquiredByCurrentThread();
+        TransactionalScenarioResult result = scenarios.parentWithRequiredPropagationInvokingRequiresNewChildFailure(
+                client(), compliance(), invoice());
+        counter.connections += pool.acquiredByCurrentThread() - before;
+        return result;
+    }
+
+    @Benchmark
+    public TransactionalScenarioResult nested(Connections counter) {
+        long before = pool.acquiredByCurrentThread();
+        TransactionalScenarioResult result = scenarios.parentWithRequiredPropagationInvokingNestedChildFailure(
+                client(), compliance(), invoice());
+        counter.connections += pool.acquiredByCurrentThread() - before;
+        return result;
+    }
+
+    private static Client client() {
+        return Client.builder().name("Bench").email("bench@example.com").build();
+    }
+
+    private static Compliance compliance() {
+        return Compliance.builder().description("KYC").status("NEW").build();
+    }
+
+    private static Invoice invoice() {
+        return Invoice.builder().amount(10.0).status("NEW").build();
+    }
+}
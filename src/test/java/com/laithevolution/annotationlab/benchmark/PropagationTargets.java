@@ -0,0 +1,66 @@
+package com.laithevolution.annotationlab.benchmark;
+
+import com.laithevolution.annotationlab.model.Client;
+import com.laithevolution.annotationlab.reposotory.ClientRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Minimal transactional methods for {@link TransactionPropagationOverheadBenchmark}: one empty body and one
+ * single-row insert per transaction definition, so the difference between them is the cost of the work and
+ * everything else is the cost of the transaction boundary.
+ */
+public class PropagationTargets {
+
+    @Autowired
+    private ClientRepository clientRepository;
+
+    @Transactional(propagation = Propagation.REQUIRED)
+    public void requiredEmpty() {
+    }
+
+    @Transactional(propagation = Propagation.REQUIRED)
+    public void requiredInsert() {
+        insert();
+    }
+
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void requiresNewEmpty() {
+    }
+
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void requiresNewInsert() {
+        insert();
+    }
+
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public void supportsEmpty() {
+    }
+
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public void supportsInsert() {
+        insert();
+    }
+
+    @Transactional(readOnly = true)
+    public void readOnlyEmpty() {
+    }
+
+    @Transactional(timeout = 5)
+    public void timeoutEmpty() {
+    }
+
+    @Transactional(timeout = 5)
+    public void timeoutInsert() {
+        insert();
+    }
+
+    /**
+     * Flushed right away so every variant pays for the INSERT inside its own boundary.
+     * Without a surrounding transaction (SUPPORTS on its own) the repository opens one for the save.
+     */
+    private void insert() {
+        clientRepository.saveAndFlush(Client.builder().name("Overhead").email("overhead@example.com").build());
+    }
+}
@@ -0,0 +1,112 @@
+package com.laithevolution.annotationlab.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-call cost of the transaction boundary for each propagation setting, empty and with one INSERT.
+ * The {@code *InOuter} variants run inside a caller's transaction: REQUIRED and SUPPORTS join it,
+ * REQUIRES_NEW suspends it and opens a second one; {@link #outerOnly} is their baseline.
+ * Run with {@code -prof gc} for allocation per call:
+ * <pre>./mvnw -Pbenchmark test-compile exec:exec -Djmh.args="TransactionPropagationOverhead -prof gc"</pre>
+ * Read-only is measured empty only: a read-only transaction never flushes, so an insert would be dropped.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TransactionPropagationOverheadBenchmark {
+
+    private ConfigurableApplicationContext context;
+    private PropagationTargets targets;
+    private TransactionTemplate outer;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start(new Class<?>[]{PropagationTargets.class},
+                "spring.jpa.properties.hibernate.cache.use_second_level_cache=false");
+        targets = context.getBean(PropagationTargets.class);
+        outer = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public void outerOnly() {
+        outer.executeWithoutResult(status -> { });
+    }
+
+    @Benchmark
+    public void requiredEmpty() {
+        targets.requiredEmpty();
+    }
+
+    @Benchmark
+    public void requiredInsert() {
+        targets.requiredInsert();
+    }
+
+    @Benchmark
+    public void requiredEmptyInOuter() {
+        outer.executeWithoutResult(status -> targets.requiredEmpty());
+    }
+
+    @Benchmark
+    public void requiredInsertInOuter() {
+        outer.executeWithoutResult(status -> targets.requiredInsert());
+    }
+
+    @Benchmark
+    public void requiresNewEmptyInOuter() {
+        outer.executeWithoutResult(status -> targets.requiresNewEmpty());
+    }
+
+    @Benchmark
+    public void requiresNewInsertInOuter() {
+        outer.executeWithoutResult(status -> targets.requiresNewInsert());
+    }
+
+    @Benchmark
+    public void supportsEmpty() {
+        targets.supportsEmpty();
+    }
+
+    @Benchmark
+    public void supportsInsert() {
+        targets.supportsInsert();
+    }
+
+    @Benchmark
+    public void supportsEmptyInOuter() {
+        outer.executeWithoutResult(status -> targets.supportsEmpty());
+    }
+
+    @Benchmark
+    public void supportsInsertInOuter() {
+        outer.executeWithoutResult(status -> targets.supportsInsert());
+    }
+
+    @Benchmark
+    public void readOnlyEmpty() {
+        targets.readOnlyEmpty();
+    }
+
+    @Benchmark
+    public void timeoutEmpty() {
+        targets.timeoutEmpty();
+    }
+
+    @Benchmark
+    public void timeoutInsert() {
+        targets.timeoutInsert();
+    }
+}
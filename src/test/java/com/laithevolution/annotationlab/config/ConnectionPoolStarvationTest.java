@@ -0,0 +1,121 @@
+package com.laithevolution.annotationlab.config;
+
+import com.laithevolution.annotationlab.exceptions.ConnectionPoolStarvationException;
+import com.laithevolution.annotationlab.facade.transactional.TransactionalPropagationScenarios;
+import com.laithevolution.annotationlab.model.Client;
+import com.laithevolution.annotationlab.model.Compliance;
+import com.laithevolution.annotationlab.model.Invoice;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Load test for nested REQUIRES_NEW chains: every parent holds its connection while its child asks for a second
+ * one. With as many concurrent parents as pool slots nobody can ever be served; the detector has to break the
+ * cycle long before the 30s connection timeout.
+ */
+@SpringBootTest(properties = "spring.datasource.hikari.maximum-pool-size=" + ConnectionPoolStarvationTest.POOL_SIZE)
+public class ConnectionPoolStarvationTest {
+
+    static final int POOL_SIZE = 4;
+
+    @Autowired
+    private TransactionalPropagationScenarios propagationScenarios;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Test
+    void testParentsMatchingPoolSizeFailFastInsteadOfDeadlocking() throws SQLException {
+        ConnectionTrackingDataSource pool = dataSource.unwrap(ConnectionTrackingDataSource.class);
+        int starvationsBefore = pool.starvationsDetected();
+
+        long start = System.nanoTime();
+        List<Throwable> outcomes = runParents(POOL_SIZE);
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+        long starved = outcomes.stream().filter(ConnectionPoolStarvationTest::isStarvation).count();
+        long succeeded = outcomes.stream().filter(outcome -> outcome == null).count();
+        assertTrue(starved >= 1, "at least one nested request has to be rejected");
+        assertEquals(POOL_SIZE, starved + succeeded, "no other failures expected: " + outcomes);
+        assertTrue(elapsed.compareTo(Duration.ofSeconds(15)) < 0, "took " + elapsed);
+        assertTrue(pool.starvationsDetected() > starvationsBefore);
+        assertEquals(0, pool.heldConnections());
+    }
+
+    @Test
+    void testParentsWithinHalfThePoolNeverStarve() throws SQLException {
+        ConnectionTrackingDataSource pool = dataSource.unwrap(ConnectionTrackingDataSource.class);
+        int starvationsBefore = pool.starvationsDetected();
+
+        List<Throwable> outcomes = runParents(POOL_SIZE / 2);
+
+        assertTrue(outcomes.stream().allMatch(outcome -> outcome == null), outcomes.toString());
+        assertEquals(starvationsBefore, pool.starvationsDetected());
+    }
+
+    /**
+     * Starts {@code parents} REQUIRED transactions, waits until all of them hold a connection and only then
+     * lets each one call the REQUIRES_NEW child. Returns the failure of every parent, or null when it committed.
+     */
+    private List<Throwable> runParents(int parents) {
+        CyclicBarrier allHoldingConnection = new CyclicBarrier(parents);
+        ExecutorService executor = Executors.newFixedThreadPool(parents);
+        try {
+            List<CompletableFuture<Throwable>> futures = IntStream.range(0, parents)
+                    .mapToObj(i -> CompletableFuture.supplyAsync(() -> {
+                        try {
+                            new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                                await(allHoldingConnection);
+                                propagationScenarios.childWithRequiresNewPropagation(
+                                        Client.builder().name("Starvation-" + i).build(),
+                                        Compliance.builder().description("KYC").status("NEW").build(),
+                                        Invoice.builder().amount(10.0).status("NEW").build());
+                            });
+                            return (Throwable) null;
+                        } catch (RuntimeException e) {
+                            return e;
+                        }
+                    }, executor))
+                    .toList();
+            return futures.stream().map(CompletableFuture::join).toList();
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private static void await(CyclicBarrier barrier) {
+        try {
+            barrier.await(10, TimeUnit.SECONDS);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static boolean isStarvation(Throwable outcome) {
+        for (Throwable cause = outcome; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConnectionPoolStarvationException) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,97 @@
+package com.laithevolution.annotationlab.config;
+
+import com.laithevolution.annotationlab.facade.transactional.TransactionalBehaviorScenarios;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * A second in-memory H2 database stands in for the replica; DATABASE() tells which pool served a transaction.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:routing-primary;DB_CLOSE_DELAY=-1",
+        "spring.datasource.hikari.maximum-pool-size=7",
+        "annotationlab.datasource.replica.enabled=true",
+        "annotationlab.datasource.replica.url=jdbc:h2:mem:routing-replica;DB_CLOSE_DELAY=-1",
+        "annotationlab.datasource.replica.sticky-window=300ms"
+})
+public class ReadWriteRoutingDataSourceTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private TransactionalBehaviorScenarios behaviorScenarios;
+
+    @Autowired
+    @Qualifier("primaryDataSource")
+    private DataSource primaryDataSource;
+
+    // fresh thread per test: no earlier write makes it sticky
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+
+    @AfterEach
+    void shutdownExecutor() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void testReadOnlyTransactionsUseReplica() throws Exception {
+        String database = executor.submit(() -> databaseName(true))
+                .get(5, TimeUnit.SECONDS);
+        assertEquals("ROUTING-REPLICA", database);
+    }
+
+    @Test
+    void testReadWriteTransactionsUsePrimary() {
+        assertEquals("ROUTING-PRIMARY", databaseName(false));
+    }
+
+    @Test
+    void testReadsStickToPrimaryRightAfterWrite() throws InterruptedException {
+        databaseName(false);
+        assertEquals("ROUTING-PRIMARY", databaseName(true), "Read right after a write should see the primary");
+
+        TimeUnit.MILLISECONDS.sleep(400);
+        assertEquals("ROUTING-REPLICA", databaseName(true), "Stickiness should expire after the window");
+    }
+
+    @Test
+    void testJpaReadOnlyScenarioIsRoutedToReplica() throws Exception {
+        // the replica has no schema, so a read-only JPA query that reaches it fails
+        Exception failure = assertThrows(Exception.class, () -> executor
+                .submit(behaviorScenarios::findAllClientsReadOnly)
+                .get(5, TimeUnit.SECONDS));
+        assertTrue(failure.getCause().getMessage().contains("CLIENTS"), failure.getCause().getMessage());
+    }
+
+    @Test
+    void testPrimaryPoolKeepsHikariSettings() throws SQLException {
+        HikariDataSource pool = primaryDataSource.unwrap(HikariDataSource.class);
+        assertEquals("primary", pool.getPoolName());
+        assertEquals(7, pool.getMaximumPoolSize());
+    }
+
+    private String databaseName(boolean readOnly) {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(readOnly);
+        return template.execute(status -> jdbcTemplate.queryForObject("select database()", String.class));
+    }
+}
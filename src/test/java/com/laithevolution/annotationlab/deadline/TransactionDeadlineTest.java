@@ -0,0 +1,106 @@
+package com.laithevolution.annotationlab.deadline;
+
+import com.laithevolution.annotationlab.facade.async.AsyncTransactionalScenarios;
+import com.laithevolution.annotationlab.model.Client;
+import com.laithevolution.annotationlab.reposotory.ComplianceRepository;
+import com.laithevolution.annotationlab.service.ClientService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionTimedOutException;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+public class TransactionDeadlineTest {
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ClientService clientService;
+
+    @Autowired
+    private ComplianceRepository complianceRepository;
+
+    @Autowired
+    private AsyncTransactionalScenarios asyncScenarios;
+
+    @Autowired
+    private DeadlineTaskDecorator deadlineTaskDecorator;
+
+    @Test
+    void testRequiresNewInheritsTheOuterDeadline() {
+        Client client = clientService.createClient(Client.builder().name("Deadline").build());
+        TransactionTemplate outer = new TransactionTemplate(transactionManager);
+        outer.setTimeout(1);
+
+        assertThrows(TransactionTimedOutException.class, () -> outer.executeWithoutResult(status -> {
+            sleep(1100);
+            // its own transaction has no timeout, but the outer budget is spent
+            clientService.updateClient(client.getId(), changed -> changed.setName("TooLate"));
+        }));
+        assertEquals("Deadline", clientService.findById(client.getId()).getName());
+        assertFalse(TransactionSynchronizationManager.isActualTransactionActive());
+        assertFalse(DeadlineContext.current().isBounded(), "Deadline scope must be closed after completion");
+    }
+
+    @Test
+    void testAsyncChildIsCancelledAtTheParentDeadline() {
+        Client client = clientService.createClient(Client.builder().name("DeadlineAsync").build());
+        long compliancesBefore = complianceRepository.count();
+
+        long start = System.nanoTime();
+        RuntimeException failure = assertThrows(RuntimeException.class,
+                () -> asyncScenarios.parentWithTimeoutAwaitingAsyncChild(client.getId(), 10_000));
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        assertTrue(elapsedMillis < 4_000, "Child should be stopped at the 2 s deadline, took " + elapsedMillis + " ms");
+        assertInstanceOf(InterruptedException.class, rootCause(failure));
+        assertEquals(compliancesBefore, complianceRepository.count());
+    }
+
+    @Test
+    void testCompletableFutureStagesCarryTheDeadline() {
+        TransactionTemplate outer = new TransactionTemplate(transactionManager);
+        outer.setTimeout(1);
+
+        long start = System.nanoTime();
+        CompletionException failure = assertThrows(CompletionException.class, () -> outer.executeWithoutResult(
+                status -> CompletableFuture
+                        .supplyAsync(DeadlineContext::current,
+                                deadlineTaskDecorator.propagating(ForkJoinPool.commonPool()))
+                        .thenAcceptAsync(deadline -> {
+                            assertTrue(deadline.isBounded());
+                            sleep(10_000);
+                        }, deadlineTaskDecorator.propagating(ForkJoinPool.commonPool()))
+                        .join()));
+
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 3_000);
+        assertInstanceOf(InterruptedException.class, rootCause(failure));
+    }
+
+    private static Throwable rootCause(Throwable failure) {
+        Throwable cause = failure;
+        while (cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return cause;
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            throw new RuntimeException(e);
+        }
+    }
+}
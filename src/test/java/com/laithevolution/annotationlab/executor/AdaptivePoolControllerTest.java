@@ -0,0 +1,79 @@
+package com.laithevolution.annotationlab.executor;
+
+import com.laithevolution.annotationlab.dto.PoolSizingDecision;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Drives {@link AdaptivePoolController#sample()} by hand; the scheduled round is pushed out of the way.
+ */
+@SpringBootTest(properties = "annotationlab.executor.big-task.adaptive.interval=1h")
+public class AdaptivePoolControllerTest {
+
+    @Autowired
+    private AdaptivePoolController controller;
+
+    @Autowired
+    @Qualifier("bigTaskExecutor")
+    private ThreadPoolTaskExecutor bigTaskExecutor;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void testGrowsUnderBacklogAndShrinksStepwiseWhenIdle() throws InterruptedException {
+        assertEquals(4, bigTaskExecutor.getCorePoolSize());
+        assertEquals(32, bigTaskExecutor.getMaxPoolSize());
+        assertEquals(42.0, meterRegistry.get("executor.admission.limit").tag("executor", "bigTaskExecutor").gauge().value(),
+                "Admission permits follow the raised max pool size");
+        controller.sample();
+
+        int tasks = 14;
+        CountDownLatch done = new CountDownLatch(tasks);
+        for (int i = 0; i < tasks; i++) {
+            bigTaskExecutor.execute(() -> {
+                sleep(300);
+                done.countDown();
+            });
+        }
+        TimeUnit.MILLISECONDS.sleep(100);
+
+        PoolSizingDecision grown = controller.sample();
+        assertEquals(10, grown.getQueueDepth(), "4 running, the other 10 queued");
+        assertTrue(grown.getCoreSize() > 4, "A backlog with no completions yet should add threads: " + grown);
+        assertEquals(grown.getCoreSize(), bigTaskExecutor.getCorePoolSize());
+        assertTrue(done.await(2, TimeUnit.SECONDS), "Extra core threads should drain the queue in one round");
+
+        TimeUnit.MILLISECONDS.sleep(20);
+        PoolSizingDecision idle = controller.sample();
+        assertEquals(4, idle.getTargetSize());
+        assertTrue(idle.getServiceMillis() >= 300, "Service time comes from completed tasks: " + idle);
+        assertTrue(idle.getCoreSize() < grown.getCoreSize() && idle.getCoreSize() > 4,
+                "Shrinking goes in steps, not straight to the target: " + idle);
+
+        for (int round = 0; round < 10 && bigTaskExecutor.getCorePoolSize() > 4; round++) {
+            TimeUnit.MILLISECONDS.sleep(20);
+            controller.sample();
+        }
+        assertEquals(4, bigTaskExecutor.getCorePoolSize());
+        assertEquals(1.0, meterRegistry.get("executor.adaptive.resizes").tag("direction", "up").counter().count());
+        assertTrue(meterRegistry.get("executor.adaptive.resizes").tag("direction", "down").counter().count() >= 2);
+    }
+
+    private static void sleep(long millis) {
+        try {
+            TimeUnit.MILLISECONDS.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.laithevolution.annotationlab.executor;
+
+import com.laithevolution.annotationlab.exceptions.ExecutorOverloadedException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AdmissionControlledTaskExecutorTest {
+
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private AdmissionControlledTaskExecutor executor;
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        executor.shutdown();
+    }
+
+    @Test
+    void testShedsBeyondPoolAndQueueCapacityWithFailedFuture() {
+        executor = executor(Duration.ZERO);
+        CompletableFuture<Void> first = executor.submitCompletable(this::blockUntilReleased);
+        CompletableFuture<Void> second = executor.submitCompletable(this::blockUntilReleased);
+
+        CompletableFuture<Void> third = executor.submitCompletable(this::blockUntilReleased);
+
+        assertTrue(third.isCompletedExceptionally(), "Third task exceeds 1 thread + 1 queue slot");
+        CompletionException exception = assertThrows(CompletionException.class, third::join);
+        ExecutorOverloadedException overloaded = assertInstanceOf(ExecutorOverloadedException.class, exception.getCause());
+        assertEquals("testExecutor", overloaded.getExecutorName());
+        assertEquals(2, overloaded.getLimit());
+        assertThrows(ExecutorOverloadedException.class, () -> executor.execute(this::blockUntilReleased));
+        assertEquals(2, executor.shedCount());
+        assertEquals(2.0, registry.get("executor.admission.shed").tag("executor", "testExecutor").functionCounter().count());
+
+        release.countDown();
+        CompletableFuture.allOf(first, second).join();
+        assertEquals(0, executor.inFlight());
+    }
+
+    @Test
+    void testWaitsForAPermitBeforeShedding() {
+        executor = executor(Duration.ofSeconds(5));
+        executor.submitCompletable(this::blockUntilReleased);
+        executor.submitCompletable(this::blockUntilReleased);
+        CompletableFuture.runAsync(() -> {
+            sleep(200);
+            release.countDown();
+        });
+
+        long start = System.nanoTime();
+        CompletableFuture<Void> third = executor.submitCompletable(() -> { });
+        long waitedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        assertNull(third.join());
+        assertTrue(waitedMillis >= 150, "The producer should be held back until a task finishes: " + waitedMillis);
+        assertEquals(0, executor.shedCount());
+        assertEquals(1, executor.waitedCount());
+        assertEquals(1, registry.get("executor.admission.wait").tag("executor", "testExecutor").functionTimer().count());
+    }
+
+    @Test
+    void testPermitsFollowPoolResizing() {
+        executor = executor(Duration.ZERO);
+        assertEquals(2, executor.limit());
+        executor.setMaxPoolSize(3);
+        for (int i = 0; i < 4; i++) {
+            executor.execute(this::blockUntilReleased);
+        }
+        assertEquals(4, executor.inFlight());
+        assertThrows(ExecutorOverloadedException.class, () -> executor.execute(this::blockUntilReleased));
+    }
+
+    @Test
+    void testRejectionsByAShutDownPoolAreCounted() {
+        executor = executor(Duration.ZERO);
+        executor.shutdown();
+
+        assertThrows(RejectedExecutionException.class, () -> executor.execute(() -> { }));
+        assertThrows(RejectedExecutionException.class, () -> executor.submitCompletable(() -> { }));
+
+        assertEquals(0, executor.shedCount(), "The pool refused them, admission did not");
+        assertEquals(2, executor.rejectedCount());
+        assertEquals(0, executor.inFlight(), "Refused tasks must hand their permit back");
+    }
+
+    private AdmissionControlledTaskExecutor executor(Duration admissionWait) {
+        AdmissionControlledTaskExecutor executor = new AdmissionControlledTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(1);
+        executor.setAdmissionWait(admissionWait);
+        executor.setBeanName("testExecutor");
+        executor.initialize();
+        executor.bindTo(registry);
+        return executor;
+    }
+
+    private void blockUntilReleased() {
+        try {
+            release.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            TimeUnit.MILLISECONDS.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
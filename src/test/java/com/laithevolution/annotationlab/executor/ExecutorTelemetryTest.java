@@ -0,0 +1,97 @@
+package com.laithevolution.annotationlab.executor;
+
+import com.laithevolution.annotationlab.facade.async.AsyncParallelScenarios;
+import com.laithevolution.annotationlab.facade.async.AsyncPoolSimulationScenarios;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+public class ExecutorTelemetryTest {
+
+    @Autowired
+    private AsyncPoolSimulationScenarios asyncSim;
+
+    @Autowired
+    private AsyncParallelScenarios asyncParallelScenarios;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void testPoolReportsQueueWaitExecutionAndRejections() {
+        String pool = "asyncPoolSimulationExecutor";
+        double completedBefore = counter("executor.tasks.completed", pool);
+        double rejectedBefore = counter("executor.tasks.rejected", pool);
+        long waitsBefore = timer("executor.tasks.wait", pool).count();
+
+        // 2 threads + 1 queue slot: the third task waits for a thread, the fourth is shed
+        List<CompletableFuture<String>> futures = IntStream.range(0, 4)
+                .mapToObj(i -> asyncSim.performAsyncTask(i, 300))
+                .toList();
+        assertEquals(1.0, gauge("executor.tasks.queued", pool));
+        // a task counts as active once its worker has started it, not when it is handed to the pool
+        awaitGauge("executor.tasks.active", pool, 2.0);
+        futures.stream().filter(future -> !future.isCompletedExceptionally()).forEach(CompletableFuture::join);
+        // futures complete inside the task, just before the decorator counts it
+        awaitCounter("executor.tasks.completed", pool, completedBefore + 3);
+
+        assertEquals(1.0, counter("executor.tasks.rejected", pool) - rejectedBefore);
+        Timer waits = timer("executor.tasks.wait", pool);
+        assertEquals(3, waits.count() - waitsBefore);
+        assertTrue(waits.max(TimeUnit.MILLISECONDS) >= 250, "The queued task waited for a running one");
+        assertTrue(timer("executor.tasks.execution", pool).max(TimeUnit.MILLISECONDS) >= 300);
+        assertEquals(0.0, gauge("executor.tasks.active", pool));
+    }
+
+    @Test
+    void testDefaultAsyncExecutorIsInstrumented() {
+        double completedBefore = meterRegistry.find("executor.tasks.completed")
+                .tag("executor", "defaultAsyncExecutor").functionCounters().stream()
+                .mapToDouble(counter -> counter.count()).sum();
+
+        asyncParallelScenarios.executeMultipleAsyncTasks(5, 50);
+
+        awaitCounter("executor.tasks.completed", "defaultAsyncExecutor", completedBefore + 5);
+        assertTrue(timer("executor.tasks.execution", "defaultAsyncExecutor").count() >= 5);
+        assertNull(meterRegistry.find("executor.tasks.queued").tag("executor", "defaultAsyncExecutor").gauge(),
+                "A thread-per-task executor has no queue");
+    }
+
+    private void awaitCounter(String name, String executor, double expected) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+        while (counter(name, executor) < expected && System.nanoTime() < deadline) {
+            Thread.onSpinWait();
+        }
+        assertEquals(expected, counter(name, executor));
+    }
+
+    private void awaitGauge(String name, String executor, double expected) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+        while (gauge(name, executor) != expected && System.nanoTime() < deadline) {
+            Thread.onSpinWait();
+        }
+        assertEquals(expected, gauge(name, executor));
+    }
+
+    private double counter(String name, String executor) {
+        return meterRegistry.get(name).tag("executor", executor).functionCounter().count();
+    }
+
+    private double gauge(String name, String executor) {
+        return meterRegistry.get(name).tag("executor", executor).gauge().value();
+    }
+
+    private Timer timer(String name, String executor) {
+        return meterRegistry.get(name).tag("executor", executor).timer();
+    }
+}
@@ -7,6 +7,8 @@ import org.springframework.boot.test.context.SpringBootTest;
 
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
 import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -51,4 +53,57 @@ public class AsyncParallelScenariosTest {
                 System.out.println("Task executed in thread: " + r.getThreadName()
                         + " (ID: " + r.getThreadId() + ")"));
     }
+
+    /**
+     * Scenario 5c: Range split on the fork/join pool
+     *  Verifies partial results are combined in order and the leaves run on the dedicated pool.
+     */
+    @Test
+    void testComputeOverRange() {
+        Set<String> threads = ConcurrentHashMap.newKeySet();
+        long sum = asyncParallelScenarios.computeOverRange(0, 1_000_000, 10_000, (from, to) -> {
+            threads.add(Thread.currentThread().getName());
+            long partial = 0;
+            for (int i = from; i < to; i++) {
+                partial += i;
+            }
+            return partial;
+        }, Long::sum);
+
+        assertEquals(999_999L * 1_000_000 / 2, sum);
+        assertTrue(threads.stream().allMatch(name -> name.startsWith("ParallelCompute-")), threads.toString());
+
+        String ordered = asyncParallelScenarios.computeOverRange(0, 100,
+                (from, to) -> IntStream.range(from, to).mapToObj(i -> i + ",").collect(Collectors.joining()),
+                String::concat);
+        assertEquals(IntStream.range(0, 100).mapToObj(i -> i + ",").collect(Collectors.joining()), ordered,
+                "A non-commutative combiner should see partials left to right");
+        assertEquals(0L, asyncParallelScenarios.computeOverRange(5, 5, 1, (from, to) -> 0L, Long::sum));
+        assertEquals(IntStream.range(-100, -10).asLongStream().sum(),
+                asyncParallelScenarios.computeOverRange(-100, -10, 7,
+                        (from, to) -> IntStream.range(from, to).asLongStream().sum(), Long::sum));
+        long[] bounds = asyncParallelScenarios.computeOverRange(Integer.MIN_VALUE, Integer.MAX_VALUE, 1 << 30,
+                (from, to) -> new long[]{from, to, 1},
+                (left, right) -> {
+                    assertEquals(left[1], right[0], "Slices should be contiguous");
+                    return new long[]{left[0], right[1], left[2] + right[2]};
+                });
+        assertArrayEquals(new long[]{Integer.MIN_VALUE, Integer.MAX_VALUE, 4}, bounds,
+                "A range wider than Integer.MAX_VALUE should still be split into grain-sized slices");
+        assertThrows(IllegalArgumentException.class,
+                () -> asyncParallelScenarios.computeOverRange(0, 10, 0, (from, to) -> 0L, Long::sum));
+    }
+
+    /**
+     * Scenario 5d: Collection split on the fork/join pool
+     */
+    @Test
+    void testComputeOverCollection() {
+        Set<String> words = Set.of("fork", "join", "steal", "split", "combine");
+
+        int letters = asyncParallelScenarios.computeOverCollection(words, 2,
+                slice -> slice.stream().mapToInt(String::length).sum(), Integer::sum);
+
+        assertEquals(words.stream().mapToInt(String::length).sum(), letters);
+    }
 }
@@ -1,5 +1,6 @@
 package com.laithevolution.annotationlab.facade.async;
 
+import com.laithevolution.annotationlab.exceptions.ExecutorOverloadedException;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
@@ -7,7 +8,6 @@ import org.springframework.boot.test.context.SpringBootTest;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
-import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -29,7 +29,7 @@ public class AsyncThreadPoolBehaviorTest {
     }
 
     /**
-     * Test 2: Queue rejection with small executor
+     * Test 2: Queue rejection with small executor - overflow is shed with an already failed future
      */
     @Test
     void testQueueRejection() throws InterruptedException {
@@ -38,9 +38,10 @@ public class AsyncThreadPoolBehaviorTest {
 
         for (int i = 0; i < totalTasks; i++) {
             final int taskId = i;
-            try {
-                asyncSim.performAsyncTask(taskId, 2000);
-            } catch (RejectedExecutionException e) {
+            CompletableFuture<String> future = asyncSim.performAsyncTask(taskId, 2000);
+            if (future.isCompletedExceptionally()) {
+                CompletionException exception = assertThrows(CompletionException.class, future::join);
+                assertInstanceOf(ExecutorOverloadedException.class, exception.getCause());
                 rejected++;
             }
         }
@@ -0,0 +1,31 @@
+package com.laithevolution.annotationlab.facade.transactional;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * {@link IsolationCoordinator} driven by one-shot hooks: the first thread to reach a checkpoint runs the
+ * hook registered for it (and removes it), every later arrival passes straight through.
+ * A hook typically starts the other transaction on another thread and waits for it to get far enough.
+ */
+public class ScriptedIsolationCoordinator implements IsolationCoordinator {
+
+    private final Map<IsolationCheckpoint, Runnable> hooks = new ConcurrentHashMap<>();
+
+    public ScriptedIsolationCoordinator on(IsolationCheckpoint checkpoint, Runnable hook) {
+        hooks.put(checkpoint, hook);
+        return this;
+    }
+
+    public void reset() {
+        hooks.clear();
+    }
+
+    @Override
+    public void arrive(IsolationCheckpoint checkpoint) {
+        Runnable hook = hooks.remove(checkpoint);
+        if (hook != null) {
+            hook.run();
+        }
+    }
+}
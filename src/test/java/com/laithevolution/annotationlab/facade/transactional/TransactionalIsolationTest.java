@@ -2,20 +2,25 @@ package com.laithevolution.annotationlab.facade.transactional;
 
 import com.laithevolution.annotationlab.model.Client;
 import com.laithevolution.annotationlab.reposotory.ClientRepository;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
 import org.springframework.test.context.DynamicPropertyRegistry;
 import org.springframework.test.context.DynamicPropertySource;
 import org.testcontainers.containers.PostgreSQLContainer;
 import org.testcontainers.junit.jupiter.Container;
 import org.testcontainers.junit.jupiter.Testcontainers;
 
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -29,6 +34,11 @@ public class TransactionalIsolationTest {
     @Autowired
     private ClientRepository clientRepository;
 
+    @Autowired
+    private ScriptedIsolationCoordinator coordinator;
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+
     private Client client;
 
     @Container
@@ -53,6 +63,12 @@ public class TransactionalIsolationTest {
                 .email("laith@example.com")
                 .build();
         clientRepository.save(client);
+        coordinator.reset();
+    }
+
+    @AfterEach
+    void shutdownExecutor() {
+        executor.shutdownNow();
     }
 
     /**
@@ -61,28 +77,20 @@ public class TransactionalIsolationTest {
      * The reader should NOT see uncommitted updates made by another transaction.
      */
     @Test
-    void testReadCommittedPreventsDirtyRead() throws Exception {
-        ExecutorService executor = Executors.newFixedThreadPool(2);
+    void testReadCommittedPreventsDirtyRead() {
+        AtomicReference<String> valueSeenByReader = new AtomicReference<>();
 
-        // Task 1: Writer updates the client name but does NOT commit immediately.
-        Future<?> writer = executor.submit(() -> {
-            isolationScenarios.simulateWriterUncommittedUpdate(client.getId());
-        });
+        // Reader runs on another thread once the writer's update is flushed but NOT committed.
+        coordinator.on(IsolationCheckpoint.WRITER_UPDATED, () -> valueSeenByReader.set(await(executor.submit(
+                () -> isolationScenarios.readClientNameDuringUncommittedUpdate(client.getId())))));
 
-        // Task 2: Reader tries to read the client while the writer's transaction is still uncommitted.
-        Future<String> readerDuringUncommitted = executor.submit(() -> {
-            Thread.sleep(1000); // Wait briefly to ensure the writer updates before the read occurs.
-            return isolationScenarios.readClientNameDuringUncommittedUpdate(client.getId());
-        });
-
-        String valueSeenByReader = readerDuringUncommitted.get(); // The value observed by the reader.
-        writer.get(); // Wait for the writer to complete.
+        isolationScenarios.simulateWriterUncommittedUpdate(client.getId());
 
         // After the writer commits, read the client name again.
         String valueAfterCommit = isolationScenarios.readClientNameAfterCommit(client.getId());
 
         //  Assertions
-        assertEquals("OriginalName", valueSeenByReader,
+        assertEquals("OriginalName", valueSeenByReader.get(),
                 "Reader should NOT see uncommitted update (READ_COMMITTED is working correctly)");
         assertEquals("UpdatedName-Uncommitted", valueAfterCommit,
                 "Reader should see the updated name after the writer transaction commits");
@@ -96,61 +104,50 @@ public class TransactionalIsolationTest {
      */
 
     @Test
-    void testRepeatableReadPreventsNonRepeatableRead() throws Exception {
-        ExecutorService executor = Executors.newFixedThreadPool(2);
-
-        // Reader thread: reads the same client twice in one transaction
-        Future<String> readerResult = executor.submit(() ->
-                isolationScenarios.readClientTwiceWithinSameTransaction(client.getId())
-        );
-
-        //  Writer thread: updates client name after 1 second (simulating concurrent modification)
-        Future<?> writer = executor.submit(() -> {
-            try {
-                Thread.sleep(1000);
-            } catch (InterruptedException e) {
-                throw new RuntimeException(e);
-            }
+    void testRepeatableReadPreventsNonRepeatableRead() {
+        //  Writer thread: commits a new name between the reader's two reads
+        coordinator.on(IsolationCheckpoint.READER_FIRST_READ, () -> await(executor.submit(() -> {
             Client updated = clientRepository.findById(client.getId()).orElseThrow();
             updated.setName("ModifiedByAnotherTx");
-            clientRepository.save(updated);
-        });
+            return clientRepository.save(updated);
+        })));
 
-        // Wait for both threads
-        String readerOutcome = readerResult.get();
-        writer.get();
+        // Reader: reads the same client twice in one transaction
+        String readerOutcome = isolationScenarios.readClientTwiceWithinSameTransaction(client.getId());
 
         //  Assertions
         assertEquals("Consistent reads (no non-repeatable read)", readerOutcome,
                 "Under REPEATABLE_READ, the same transaction " +
                         "should see consistent data even if another transaction updates the record.");
+        // The writer must really have committed in between, otherwise consistent reads prove nothing.
+        assertEquals("ModifiedByAnotherTx", clientRepository.findById(client.getId()).orElseThrow().getName(),
+                "The concurrent update should have been committed between the reader's two reads.");
     }
 
 
     @Test
     void testSerializableIsolationPreventsConcurrentModification() throws Exception {
-        ExecutorService executor = Executors.newFixedThreadPool(2);
-
-        // Transaction A: Writer updates the client
-        Future<?> txA = executor.submit(() -> {
-            isolationScenarios.simulateSerializableReadWrite(client.getId());
+        AtomicReference<Future<Boolean>> txB = new AtomicReference<>();
+
+        // Transaction B starts once A's update is flushed; A commits as soon as B has read the old row.
+        coordinator.on(IsolationCheckpoint.SERIALIZABLE_WRITTEN, () -> {
+            CountDownLatch bHasRead = new CountDownLatch(1);
+            coordinator.on(IsolationCheckpoint.SERIALIZABLE_READ, bHasRead::countDown);
+            txB.set(executor.submit(() -> {
+                try {
+                    isolationScenarios.simulateSerializableReadWrite(client.getId());
+                    return true; // update succeeded
+                } catch (Exception e) {
+                    // Expected conflict due to SERIALIZABLE isolation
+                    return false;
+                }
+            }));
+            awaitLatch(bHasRead);
         });
 
-        // Transaction B: Concurrent Writer tries to update same client
-        Future<Boolean> txB = executor.submit(() -> {
-            try {
-                Thread.sleep(500); // Give A a head start
-                isolationScenarios.simulateSerializableReadWrite(client.getId());
-                return true; // update succeeded
-            } catch (Exception e) {
-                // Expected conflict due to SERIALIZABLE isolation
-                return false;
-            }
-        });
-
-        // Wait for both transactions
-        txA.get(6, TimeUnit.SECONDS);
-        boolean txBsuccess = txB.get(6, TimeUnit.SECONDS);
+        // Transaction A: Writer updates the client
+        isolationScenarios.simulateSerializableReadWrite(client.getId());
+        boolean txBsuccess = txB.get().get(6, TimeUnit.SECONDS);
 
         //  Assertion: Under SERIALIZABLE, one of the concurrent writers should fail
         assertFalse(txBsuccess, "At least one transaction should fail under SERIALIZABLE isolation due to concurrency conflict");
@@ -160,4 +157,34 @@ public class TransactionalIsolationTest {
         assertTrue(finalName.contains("SerializableUpdate"), "After commit, the client should have the updated value from the first transaction");
     }
 
+    /**
+     * Waits for the other transaction from inside a checkpoint; failing here rolls back the scenario's transaction.
+     */
+    private static <T> T await(Future<T> future) {
+        try {
+            return future.get(5, TimeUnit.SECONDS);
+        } catch (Exception e) {
+            throw new IllegalStateException("Concurrent transaction did not complete", e);
+        }
+    }
+
+    private static void awaitLatch(CountDownLatch latch) {
+        try {
+            if (!latch.await(5, TimeUnit.SECONDS)) {
+                throw new IllegalStateException("Concurrent transaction did not reach its checkpoint");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @TestConfiguration
+    static class Coordination {
+
+        @Bean
+        ScriptedIsolationCoordinator isolationCoordinator() {
+            return new ScriptedIsolationCoordinator();
+        }
+    }
 }
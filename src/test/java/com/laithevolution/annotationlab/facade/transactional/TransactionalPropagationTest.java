@@ -112,6 +112,45 @@ public class TransactionalPropagationTest {
         assertEquals(0, invoiceRepository.count(), "Invoice should NOT be persisted");
     }
 
+    @Test
+    void testRequiredParentWithNestedChildFailure() {
+        TransactionalScenarioResult result = propagationScenario
+                .parentWithRequiredPropagationInvokingNestedChildFailure(client, compliance, invoice);
+
+        assertTrue(result.getChild().isRolledBack(), "Child savepoint should be rolled back");
+        assertFalse(result.getParent().isRolledBack(), "Parent transaction should NOT be rolled back");
+        assertEquals(result.getParent().getTransactionName(), result.getChild().getTransactionName(),
+                "Child runs inside the parent's physical transaction");
+        assertEquals(1, clientRepository.count(), "Client should be persisted");
+        assertEquals(1, complianceRepository.count(), "Compliance should be persisted");
+        assertEquals(0, invoiceRepository.count(), "Invoice should NOT be persisted");
+        assertTrue(invoiceRepository.findById(invoice.getId()).isEmpty(),
+                "The rolled-back invoice should not be served from the second-level cache");
+    }
+
+    @Test
+    void testRequiredParentWithNestedChildSuccess() {
+        TransactionalScenarioResult result = propagationScenario
+                .parentWithRequiredPropagationInvokingNestedChildSuccess(client, compliance, invoice);
+
+        assertFalse(result.getChild().isRolledBack(), "Child savepoint should be released, not rolled back");
+        assertFalse(result.getParent().isRolledBack(), "Parent transaction should NOT be rolled back");
+        assertEquals(result.getParent().getTransactionName(), result.getChild().getTransactionName(),
+                "Child runs inside the parent's physical transaction");
+        assertEquals(1, clientRepository.count(), "Client should be persisted");
+        assertEquals(1, complianceRepository.count(), "Compliance should be persisted");
+        assertEquals(1, invoiceRepository.count(), "Invoice should be committed through the parent");
+    }
+
+    @Test
+    void testRequiredParentFailingAfterNestedChildSuccess() {
+        assertThrows(RuntimeException.class, () -> propagationScenario
+                .parentWithRequiredPropagationFailingAfterNestedChildSuccess(client, compliance, invoice));
+
+        assertEquals(0, clientRepository.count(), "No clients should be persisted");
+        assertEquals(0, complianceRepository.count(), "No compliance records should be persisted");
+        assertEquals(0, invoiceRepository.count(), "A released savepoint should roll back with its parent");
+    }
 
     @Test
     void testRequiredParentWithSupportsChildFailure() {
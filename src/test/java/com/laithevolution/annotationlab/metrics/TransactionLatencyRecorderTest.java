@@ -0,0 +1,81 @@
+package com.laithevolution.annotationlab.metrics;
+
+import com.laithevolution.annotationlab.dto.TransactionLatencyStats;
+import com.laithevolution.annotationlab.facade.transactional.TransactionalBehaviorScenarios;
+import com.laithevolution.annotationlab.facade.transactional.TransactionalPropagationScenarios;
+import com.laithevolution.annotationlab.model.Client;
+import com.laithevolution.annotationlab.model.Compliance;
+import com.laithevolution.annotationlab.model.Invoice;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+public class TransactionLatencyRecorderTest {
+
+    @Autowired
+    private TransactionLatencyRecorder recorder;
+
+    @Autowired
+    private TransactionalPropagationScenarios propagationScenarios;
+
+    @Autowired
+    private TransactionalBehaviorScenarios behaviorScenarios;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    void resetRecorder() {
+        recorder.reset();
+    }
+
+    @Test
+    void testRequiresNewChildSuspendsParentAndEachPhaseIsRecorded() {
+        propagationScenarios.parentWithRequiredPropagationInvokingRequiresNewChildFailure(
+                Client.builder().name("Latency").build(),
+                Compliance.builder().description("KYC").status("NEW").build(),
+                Invoice.builder().amount(10.0).status("NEW").build());
+
+        TransactionLatencyStats parent = stats("parentWithRequiredPropagationInvokingRequiresNewChildFailure");
+        assertEquals(1, parent.getPhysical());
+        assertEquals(1, parent.getCommits());
+        assertEquals(1, parent.getSuspends());
+        assertEquals(1, parent.getResumes());
+        assertTrue(parent.getPhases().keySet().containsAll(
+                List.of("begin", "body", "flush", "commit", "total")));
+
+        TransactionLatencyStats child = stats("childWithRequiresNewPropagation");
+        assertEquals("REQUIRES_NEW", child.getPropagation());
+        assertEquals(1, child.getPhysical());
+        assertEquals(1, child.getRollbacks());
+        assertTrue(child.getPhases().containsKey("rollback"));
+        assertFalse(child.getPhases().containsKey("commit"));
+    }
+
+    @Test
+    void testJoiningAnOuterTransactionIsCountedAsLogical() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(
+                status -> behaviorScenarios.forEachClientReadOnly(client -> { }));
+
+        TransactionLatencyStats joined = stats("forEachClientReadOnly");
+        assertEquals(0, joined.getPhysical());
+        assertEquals(1, joined.getJoined());
+        assertEquals(1, joined.getPhases().get("body").getCount());
+        assertFalse(joined.getPhases().containsKey("commit"));
+    }
+
+    private TransactionLatencyStats stats(String methodName) {
+        return recorder.snapshot().stream()
+                .filter(s -> s.getTransactionName().endsWith("." + methodName))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("No latency stats for " + methodName));
+    }
+}
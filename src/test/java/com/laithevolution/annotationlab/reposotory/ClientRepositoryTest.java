@@ -0,0 +1,91 @@
+package com.laithevolution.annotationlab.reposotory;
+
+import com.laithevolution.annotationlab.dto.KeysetPage;
+import com.laithevolution.annotationlab.model.Client;
+import com.laithevolution.annotationlab.service.ClientService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.InvalidDataAccessApiUsageException;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+public class ClientRepositoryTest {
+
+    @Autowired
+    private ClientRepository clientRepository;
+
+    @Autowired
+    private ClientService clientService;
+
+    @BeforeEach
+    void setup() {
+        clientRepository.deleteAll();
+        // duplicate names force the id tie-breaker of the (name, id) key
+        clientService.createClients(IntStream.range(0, 250)
+                .mapToObj(i -> Client.builder().name("Client-" + (i % 40)).email("c" + i + "@example.com").build())
+                .toList());
+    }
+
+    @Test
+    void testKeysetPagingById() {
+        List<Client> visited = new ArrayList<>();
+        String token = null;
+        int pages = 0;
+        do {
+            KeysetPage<Client> page = clientRepository.findPageById(token, 30);
+            visited.addAll(page.getContent());
+            token = page.getNextToken();
+            pages++;
+        } while (token != null);
+
+        assertEquals(9, pages, "250 rows in pages of 30");
+        assertEquals(250, visited.size());
+        assertEquals(visited.stream().map(Client::getId).sorted().toList(),
+                visited.stream().map(Client::getId).toList(), "Pages should follow id order without gaps");
+    }
+
+    @Test
+    void testKeysetPagingByNameAndId() {
+        List<Client> visited = new ArrayList<>();
+        String token = null;
+        do {
+            KeysetPage<Client> page = clientRepository.findPageByName(token, 17);
+            visited.addAll(page.getContent());
+            token = page.getNextToken();
+        } while (token != null);
+
+        assertEquals(250, visited.size());
+        assertEquals(250, visited.stream().map(Client::getId).distinct().count(), "No client should be visited twice");
+        assertEquals(visited.stream()
+                        .sorted(Comparator.comparing(Client::getName).thenComparing(Client::getId))
+                        .map(Client::getId).toList(),
+                visited.stream().map(Client::getId).toList(), "Pages should follow (name, id) order");
+    }
+
+    @Test
+    void testTokenKindsAreNotInterchangeable() {
+        String idToken = clientRepository.findPageById(null, 10).getNextToken();
+        // the repository proxy translates the IllegalArgumentException like any other data access misuse
+        assertThrows(InvalidDataAccessApiUsageException.class, () -> clientRepository.findPageByName(idToken, 10));
+    }
+
+    @Test
+    void testNonPositivePageSizeIsRejected() {
+        for (int pageSize : new int[]{0, -1}) {
+            InvalidDataAccessApiUsageException byId = assertThrows(InvalidDataAccessApiUsageException.class,
+                    () -> clientRepository.findPageById(null, pageSize));
+            assertInstanceOf(IllegalArgumentException.class, byId.getCause());
+            InvalidDataAccessApiUsageException byName = assertThrows(InvalidDataAccessApiUsageException.class,
+                    () -> clientRepository.findPageByName(null, pageSize));
+            assertInstanceOf(IllegalArgumentException.class, byName.getCause());
+        }
+    }
+}
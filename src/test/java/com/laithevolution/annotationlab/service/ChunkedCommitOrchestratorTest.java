@@ -0,0 +1,101 @@
+package com.laithevolution.annotationlab.service;
+
+import com.laithevolution.annotationlab.dto.ChunkCommitResult;
+import com.laithevolution.annotationlab.dto.ChunkedCommitReport;
+import com.laithevolution.annotationlab.model.Client;
+import com.laithevolution.annotationlab.model.Compliance;
+import com.laithevolution.annotationlab.model.Invoice;
+import com.laithevolution.annotationlab.reposotory.ClientRepository;
+import com.laithevolution.annotationlab.reposotory.ComplianceRepository;
+import com.laithevolution.annotationlab.reposotory.InvoiceRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+public class ChunkedCommitOrchestratorTest {
+
+    @Autowired
+    private ChunkedCommitOrchestrator orchestrator;
+
+    @Autowired
+    private ClientRepository clientRepository;
+
+    @Autowired
+    private ComplianceRepository complianceRepository;
+
+    @Autowired
+    private InvoiceRepository invoiceRepository;
+
+    @BeforeEach
+    void setup() {
+        invoiceRepository.deleteAll();
+        complianceRepository.deleteAll();
+        clientRepository.deleteAll();
+    }
+
+    /**
+     * Every chunk commits on its own pool thread; the whole graph lands in the database.
+     */
+    @Test
+    void testCommitInChunks() {
+        List<Client> clients = clientGraphs(200);
+
+        ChunkedCommitReport report = orchestrator.commitInChunks(clients, 25);
+
+        assertTrue(report.isFullyCommitted(), "All chunks should commit");
+        assertEquals(8, report.getChunks().size(), "200 clients in chunks of 25");
+        assertEquals(200, clientRepository.count());
+        assertEquals(200, complianceRepository.count());
+        assertEquals(200, invoiceRepository.count());
+        assertTrue(report.getChunks().stream()
+                        .map(ChunkCommitResult::getThreadName)
+                        .collect(Collectors.toSet()).size() > 1,
+                "Chunks should be spread over several executor threads");
+    }
+
+    /**
+     * A failing chunk rolls back alone; retrying it does not re-insert the committed chunks.
+     */
+    @Test
+    void testRetryOnlyFailedChunk() {
+        List<Client> clients = clientGraphs(100);
+        Client broken = clients.get(42);
+        broken.setName("x".repeat(300)); // exceeds the VARCHAR(255) column
+
+        ChunkedCommitReport report = orchestrator.commitInChunks(clients, 10);
+
+        assertEquals(1, report.getFailedChunks().size(), "Only the chunk holding the broken client fails");
+        assertEquals(4, report.getFailedChunks().get(0).getChunkIndex());
+        assertEquals(90, clientRepository.count(), "Other chunks should be committed");
+
+        broken.setName("Fixed");
+        ChunkedCommitReport retried = orchestrator.retryFailedChunks(report);
+
+        assertTrue(retried.isFullyCommitted(), "Retried chunk should commit");
+        assertEquals(2, retried.getChunks().get(4).getAttempts());
+        assertEquals(1, retried.getChunks().get(0).getAttempts(), "Committed chunks are not re-run");
+        assertEquals(100, clientRepository.count());
+        assertEquals(100, invoiceRepository.count());
+    }
+
+    private static List<Client> clientGraphs(int count) {
+        return IntStream.range(0, count)
+                .mapToObj(i -> {
+                    Client client = Client.builder().name("Chunk-" + i).email("chunk" + i + "@example.com").build();
+                    Compliance compliance = Compliance.builder().description("KYC").status("NEW").client(client).build();
+                    compliance.setInvoice(Invoice.builder().amount(10.0 * i).status("NEW").compliance(compliance).build());
+                    client.setCompliances(new ArrayList<>(List.of(compliance)));
+                    return client;
+                })
+                .toList();
+    }
+}
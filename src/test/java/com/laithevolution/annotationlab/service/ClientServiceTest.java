@@ -0,0 +1,268 @@
+package com.laithevolution.annotationlab.service;
+
+import com.laithevolution.annotationlab.cache.EntityCacheStatistics;
+import com.laithevolution.annotationlab.dto.ClientAggregate;
+import com.laithevolution.annotationlab.dto.ClientSummary;
+import com.laithevolution.annotationlab.dto.ComplianceSummary;
+import com.laithevolution.annotationlab.dto.EntityCacheStats;
+import com.laithevolution.annotationlab.facade.transactional.TransactionalBehaviorScenarios;
+import com.laithevolution.annotationlab.model.Client;
+import com.laithevolution.annotationlab.model.Compliance;
+import com.laithevolution.annotationlab.model.Invoice;
+import com.laithevolution.annotationlab.reposotory.ClientRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+public class ClientServiceTest {
+
+    @Autowired
+    private ClientService clientService;
+
+    @Autowired
+    private ClientRepository clientRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TransactionalBehaviorScenarios behaviorScenarios;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ClientNameIndex clientNameIndex;
+
+    @Autowired
+    private EntityCacheStatistics entityCacheStatistics;
+
+    @Autowired
+    private ComplianceService complianceService;
+
+    @Autowired
+    private InvoiceService invoiceService;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setup() {
+        clientRepository.deleteAll();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    /**
+     * Bulk insert should assign pooled sequence ids and group rows into JDBC batches
+     * instead of issuing one INSERT round trip per client.
+     */
+    @Test
+    void testCreateClientsUsesBatchedInserts() {
+        int total = 1_000;
+        List<Client> clients = IntStream.range(0, total)
+                .mapToObj(i -> Client.builder().name("Bulk-" + i).email("bulk" + i + "@example.com").build())
+                .toList();
+
+        List<Client> saved = clientService.createClients(clients);
+
+        assertEquals(total, clientRepository.count(), "All clients should be persisted");
+        assertTrue(saved.stream().allMatch(c -> c.getId() != null), "Every client should get an id");
+        assertTrue(statistics.getPrepareStatementCount() < total / 10,
+                "Inserts should be batched, prepared statements: " + statistics.getPrepareStatementCount());
+    }
+
+    /**
+     * Streaming read visits every client in id order inside one transaction
+     * without keeping them attached to the persistence context.
+     */
+    @Test
+    void testStreamAllDetachesVisitedClients() {
+        clientService.createClients(IntStream.range(0, 1_200)
+                .mapToObj(i -> Client.builder().name("Stream-" + i).email("stream" + i + "@example.com").build())
+                .toList());
+
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        Long visited = readOnly.execute(status -> {
+            AtomicLong lastId = new AtomicLong();
+            try (Stream<Client> clients = clientService.streamAll()) {
+                return clients
+                        .peek(c -> assertTrue(c.getId() > lastId.getAndSet(c.getId()), "Clients should come in id order"))
+                        .count();
+            }
+        });
+
+        assertEquals(1_200, visited);
+    }
+
+    @Test
+    void testForEachClientVisitsEveryRow() {
+        clientService.createClients(IntStream.range(0, 1_200)
+                .mapToObj(i -> Client.builder().name("Scan-" + i).email("scan" + i + "@example.com").build())
+                .toList());
+
+        AtomicLong emails = new AtomicLong();
+        long visited = behaviorScenarios.forEachClientReadOnly(c -> emails.addAndGet(c.getEmail().length()));
+
+        assertEquals(1_200, visited);
+        assertTrue(emails.get() > 0);
+    }
+
+    /**
+     * Name search is answered by the trigram index, which follows create, update and delete.
+     */
+    @Test
+    void testNameIndexFollowsWrites() {
+        Client alpha = clientService.createClient(Client.builder().name("Alpha Trading").email("a@example.com").build());
+        clientService.createClient(Client.builder().name("Beta Trading").email("b@example.com").build());
+
+        assertTrue(clientNameIndex.search("Trading").isPresent(), "Index should answer fragments of 3+ characters");
+        assertEquals(2, clientService.findByNameLike("Trading").size());
+
+        alpha.setName("Alpha Holdings");
+        clientService.updateClient(alpha);
+        assertEquals(1, clientService.findByNameLike("Trading").size());
+        assertEquals(1, clientService.findByNameLike("Holdings").size());
+
+        clientService.deleteClient(alpha.getId());
+        assertTrue(clientService.findByNameLike("Holdings").isEmpty());
+        assertEquals(List.of("Beta Trading"),
+                clientService.findByNameLike("ta").stream().map(Client::getName).toList(),
+                "Short fragments fall back to the LIKE query");
+    }
+
+    @Test
+    void testNameIndexCompactsUnderRepeatedRenames() {
+        ClientNameIndex index = new ClientNameIndex();
+        index.markReady();
+        for (int i = 0; i < 10_000; i++) {
+            index.put(1L, "Renamed Client " + i);
+        }
+
+        assertEquals(1, index.size());
+        assertTrue(index.storedDocs() <= 2 * 1024 + 2,
+                "Renames tombstone the old doc and must trigger compaction: " + index.storedDocs());
+        assertEquals(List.of(1L), index.search("Client 9999").orElseThrow());
+        assertEquals(List.of(), index.search("Client 9998").orElseThrow());
+    }
+
+    /**
+     * Aggregates for 30 clients x 3 compliances x 1 invoice come back from a single SELECT
+     * instead of 1 + 30 + 90 queries when walking the associations lazily.
+     */
+    @Test
+    void testLoadClientAggregatesInOneQuery() {
+        List<Client> clients = IntStream.range(0, 30)
+                .mapToObj(i -> {
+                    Client client = Client.builder().name("Agg-" + i).email("agg" + i + "@example.com").build();
+                    List<Compliance> compliances = new ArrayList<>();
+                    for (int j = 0; j < 3; j++) {
+                        Compliance compliance = Compliance.builder().description("Check-" + j).status("OPEN").client(client).build();
+                        compliance.setInvoice(Invoice.builder().amount(j * 100.0).status("DUE").compliance(compliance).build());
+                        compliances.add(compliance);
+                    }
+                    client.setCompliances(compliances);
+                    return client;
+                })
+                .toList();
+        List<Long> ids = clientService.createClients(clients).stream().map(Client::getId).toList();
+        statistics.clear();
+
+        List<ClientAggregate> aggregates = clientService.loadClientAggregates(ids);
+
+        assertEquals(1, statistics.getPrepareStatementCount(), "Clients, compliances and invoices should load in one query");
+        assertEquals(ids, aggregates.stream().map(ClientAggregate::getClientId).toList(), "Aggregates follow the requested order");
+        assertTrue(aggregates.stream().allMatch(a -> a.getCompliances().size() == 3));
+        assertTrue(aggregates.stream()
+                .flatMap(a -> a.getCompliances().stream())
+                .allMatch(line -> line.getInvoiceId() != null && "DUE".equals(line.getInvoiceStatus())));
+    }
+
+    /**
+     * Repeated getClient calls are served by the second-level cache; updateClient invalidates the entry.
+     */
+    @Test
+    void testGetClientUsesSecondLevelCache() {
+        Client client = clientService.createClient(Client.builder().name("Cached").email("cached@example.com").build());
+        clientService.getClient(client.getId());
+        statistics.clear();
+        EntityCacheStats before = entityCacheStatistics.regionStats("clients");
+
+        assertEquals("Cached", clientService.getClient(client.getId()).orElseThrow().getName());
+        assertEquals("Cached", clientService.getClient(client.getId()).orElseThrow().getName());
+
+        assertEquals(0, statistics.getPrepareStatementCount(), "Cached reads should not hit the database");
+        assertEquals(before.getHits() + 2, entityCacheStatistics.regionStats("clients").getHits());
+
+        client.setName("Renamed");
+        clientService.updateClient(client);
+        assertEquals("Renamed", clientService.getClient(client.getId()).orElseThrow().getName());
+        assertTrue(entityCacheStatistics.regionStats("clients").getMisses() > before.getMisses(),
+                "The updated client should be re-read after invalidation");
+    }
+
+    /**
+     * Record projections return the selected columns without loading a single entity.
+     */
+    @Test
+    void testSummariesSkipEntityHydration() {
+        Client client = Client.builder().name("Projected").email("projected@example.com").build();
+        Compliance compliance = Compliance.builder().description("AML").status("OPEN").client(client).build();
+        compliance.setInvoice(Invoice.builder().amount(250.0).status("DUE").compliance(compliance).build());
+        client.setCompliances(new ArrayList<>(List.of(compliance)));
+        clientService.createClients(List.of(client));
+        statistics.clear();
+
+        assertEquals(new ClientSummary(client.getId(), "Projected", "projected@example.com"),
+                clientService.getClientSummary(client.getId()).orElseThrow());
+        assertEquals(List.of(compliance.getId()), complianceService.findSummariesByClient(client.getId()).stream()
+                .map(ComplianceSummary::id).toList());
+        assertEquals(250.0, invoiceService.findSummaryByCompliance(compliance.getId()).orElseThrow().amount());
+
+        assertEquals(0, statistics.getEntityLoadCount(), "Projections should not hydrate entities");
+    }
+
+    /**
+     * Concurrent read-modify-write updates on one client: every conflicting attempt is re-applied
+     * on a fresh read, so no update is lost and none surfaces as an error.
+     */
+    @Test
+    void testConcurrentUpdatesAreRetriedOnVersionConflict() {
+        Client client = clientService.createClient(Client.builder().name("Counter").email("").build());
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<CompletableFuture<Void>> writers = IntStream.range(0, 4)
+                    .mapToObj(w -> CompletableFuture.runAsync(() -> {
+                        for (int i = 0; i < 10; i++) {
+                            clientService.updateClient(client.getId(), c -> c.setEmail(c.getEmail() + "x"));
+                        }
+                    }, executor))
+                    .toList();
+            CompletableFuture.allOf(writers.toArray(new CompletableFuture[0])).join();
+        } finally {
+            executor.shutdown();
+        }
+
+        Client updated = clientRepository.findById(client.getId()).orElseThrow();
+        assertEquals(40, updated.getEmail().length(), "Every update should be applied exactly once");
+        assertEquals(client.getVersion() + 40, updated.getVersion());
+    }
+}